@@ -19,24 +19,15 @@ app.add_middleware(
 class FeaturesRequest(BaseModel):
     imageUrl: str
     
+class BatchFeaturesRequest(BaseModel):
+    imageUrls: list[str]
+
 class EditReq(BaseModel):
     imageUrl: str
     current_detections: list[dict]
     edits: list[dict]
 
-@app.post("/predict")
-def predict(request: FeaturesRequest):
-    # Access the features string from the request body
-    imageUrl = request.imageUrl
-    # Make path relative to the Devix folder
-    # devix_root = os.path.abspath(os.path.join(os.path.dirname(__file__), '..'))
-    # path = os.path.join(devix_root, imageUrl)
-    # absolute_path = os.path.abspath(__file__)
-    # dir_path = os.path.dirname(absolute_path)
-    
-    # path = os.path.join(path, imageUrl)
-    # path = f"../{imageUrl}"
-    # print("path: ", path)
+def run_prediction(imageUrl):
     print("imageUrl: ", imageUrl)
     result = interface(imageUrl)
     
@@ -67,6 +58,21 @@ def predict(request: FeaturesRequest):
             predictions.append(prediction)
         
         return predictions
+
+@app.post("/predict")
+def predict(request: FeaturesRequest):
+    return run_prediction(request.imageUrl)
+
+@app.post("/predict_batch")
+def predict_batch(request: BatchFeaturesRequest):
+    # One result per image; a failing image reports an error without failing the batch
+    results = []
+    for imageUrl in request.imageUrls:
+        try:
+            results.append({"imageUrl": imageUrl, "predictions": run_prediction(imageUrl)})
+        except Exception as e:
+            results.append({"imageUrl": imageUrl, "error": str(e)})
+    return {"results": results}
     
 @app.post("/update_thresholds")
 def update_thresholds_endpoint(request: EditReq):
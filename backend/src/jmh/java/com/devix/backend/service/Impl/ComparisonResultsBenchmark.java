@@ -0,0 +1,86 @@
+package com.devix.backend.service.Impl;
+
+import com.devix.backend.model.AiResults;
+import com.devix.backend.model.EvalResults;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the {@code aiResults} list of the comparison view (getComparisonImage) from AI or
+ * evaluated detections.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ComparisonResultsBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int detections;
+
+    private List<AiResults> aiResults;
+    private List<EvalResults> evalResults;
+
+    @Setup
+    public void setUp() {
+        aiResults = new ArrayList<>(detections);
+        evalResults = new ArrayList<>(detections);
+        for (int i = 0; i < detections; i++) {
+            AiResults aiResult = new AiResults();
+            aiResult.setInspectionNo("00001");
+            aiResult.setAnomalyStatus("anomaly");
+            aiResult.setFaultType("Loose Joint");
+            aiResult.setFaultSeverity(0.7);
+            aiResult.setFaultConfidence(0.9);
+            aiResult.setXCoordinate(120.5 + i);
+            aiResult.setYCoordinate(80.25 + i);
+            aiResult.setBbox(List.of(i, i, 40, 30));
+            aiResult.setAreaPx(1200);
+            aiResult.setHotspotX(130.0);
+            aiResult.setHotspotY(90.0);
+            aiResults.add(aiResult);
+
+            EvalResults evalResult = new EvalResults();
+            evalResult.setInspectionNo("00001");
+            evalResult.setAnomalyStatus("anomaly");
+            evalResult.setFaultType("Loose Joint");
+            evalResult.setFaultSeverity(0.7);
+            evalResult.setFaultConfidence(0.9);
+            evalResult.setXCoordinate(120.5 + i);
+            evalResult.setYCoordinate(80.25 + i);
+            evalResult.setBbox(List.of(i, i, 40, 30));
+            evalResult.setAreaPx(1200);
+            evalResult.setHotspotX(130.0);
+            evalResult.setHotspotY(90.0);
+            evalResult.setNotes("Checked on site");
+            evalResult.setEvaluatedBy("Devix");
+            evalResults.add(evalResult);
+        }
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> aiResults() {
+        return aiResults.stream().map(InspectionImageServiceImpl::aiResultMap).toList();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> evalResults() {
+        return evalResults.stream().map(InspectionImageServiceImpl::evalResultMap).toList();
+    }
+}
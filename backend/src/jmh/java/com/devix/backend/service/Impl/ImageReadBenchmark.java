@@ -0,0 +1,63 @@
+package com.devix.backend.service.Impl;
+
+import com.devix.backend.service.Bulkhead;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LocalImageService#getImage}: reads the whole file and Base64-encodes it, so time and
+ * allocation grow with the image size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ImageReadBenchmark {
+
+    @Param({"65536", "1048576", "8388608"})
+    private int size;
+
+    private LocalImageService localImageService;
+    private Path image;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] content = new byte[size];
+        new Random(42).nextBytes(content);
+        image = Files.write(Files.createTempFile("image-read-", ".jpg"), content);
+        // getImage only touches the file system and its meters
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        localImageService = new LocalImageService(null, null, null, null,
+                new Bulkhead("image-store", 1, Duration.ofSeconds(1), meterRegistry), meterRegistry);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(image);
+    }
+
+    @Benchmark
+    public String getImage() {
+        return localImageService.getImage(image.toString());
+    }
+}
@@ -0,0 +1,75 @@
+package com.devix.backend.service;
+
+import com.devix.backend.dto.InspectionRequestDto;
+import com.devix.backend.dto.InspectionResponseDto;
+import com.devix.backend.dto.TransformerResponseDto;
+import com.devix.backend.model.Inspection;
+import com.devix.backend.model.Transformer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MapperService} conversions used by the listing and create endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MapperBenchmark {
+
+    private final MapperService mapperService = MapperService.INSTANCE;
+
+    private Transformer transformer;
+    private Inspection inspection;
+    private InspectionRequestDto inspectionRequest;
+
+    @Setup
+    public void setUp() {
+        transformer = new Transformer();
+        transformer.setId(1L);
+        transformer.setTransformerNo("AZ-8801");
+        transformer.setTransformerType("Bulk");
+        transformer.setTransformerPoleNo("EN-122-A");
+        transformer.setTransformerRegion("Nugegoda");
+        transformer.setTransformerLocation("Keels, Embuldeniya");
+        transformer.setTransformerCapacity("100");
+
+        inspection = new Inspection("00001", "2025-01-01", "10:00", "Nugegoda", "pending", "AZ-8801", "Devix");
+        inspection.setId(1L);
+
+        inspectionRequest = new InspectionRequestDto();
+        inspectionRequest.setInspectionDate("2025-01-01");
+        inspectionRequest.setInspectionTime("10:00");
+        inspectionRequest.setInspectionBranch("Nugegoda");
+        inspectionRequest.setTransformerNo("AZ-8801");
+        inspectionRequest.setInspectionStatus("pending");
+        inspectionRequest.setInspectedby("Devix");
+    }
+
+    @Benchmark
+    public TransformerResponseDto toTransformerDto() {
+        return mapperService.toTransformerDto(transformer);
+    }
+
+    @Benchmark
+    public InspectionResponseDto toInspectionDto() {
+        return mapperService.toInspectionDto(inspection);
+    }
+
+    @Benchmark
+    public Inspection toInspectionEntity() {
+        return mapperService.toInspectionEntity(inspectionRequest);
+    }
+}
@@ -0,0 +1,93 @@
+package com.devix.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing AI server responses for /predict and /predict_batch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PredictionParseBenchmark {
+
+    private static final int BATCH_IMAGES = 16;
+
+    @Param({"1", "10", "100"})
+    private int detections;
+
+    private ThreadPoolTaskExecutor executor;
+    private AiService aiService;
+    private String prediction;
+    private String batchPrediction;
+
+    @Setup
+    public void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.initialize();
+        // The parsers only use the shared ObjectMapper; nothing is sent to an AI server
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        aiService = new AiService(null, null, null, executor, meterRegistry,
+                new Bulkhead("ai-server", 1, Duration.ofSeconds(1), meterRegistry),
+                new CircuitBreaker("ai-server", 1, Duration.ofSeconds(1), meterRegistry),
+                new RetryPolicy("ai-server", 0, Duration.ofMillis(1), Duration.ofMillis(1), 0, 0, meterRegistry),
+                WebClient.create("http://localhost:5001"), 1, 1000, false, 1, 1);
+
+        prediction = predictionJson(detections);
+        StringBuilder results = new StringBuilder();
+        for (int i = 0; i < BATCH_IMAGES; i++) {
+            results.append(i == 0 ? "" : ",")
+                    .append("{\"imageUrl\":\"image-").append(i).append(".jpg\",\"predictions\":")
+                    .append(prediction).append('}');
+        }
+        batchPrediction = "{\"results\":[" + results + "]}";
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> parsePrediction() {
+        return aiService.parsePrediction(prediction);
+    }
+
+    @Benchmark
+    public Map<String, List<Map<String, Object>>> parseBatchPrediction() {
+        return aiService.parseBatchPrediction(batchPrediction);
+    }
+
+    private static String predictionJson(int detections) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < detections; i++) {
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"fault_type\":\"Loose Joint\",\"severity\":0.72,\"confidence\":0.91,")
+                    .append("\"x_coordinate\":").append(120 + i).append(",\"y_coordinate\":").append(80 + i)
+                    .append(",\"bbox\":[").append(i).append(',').append(i).append(",40,30],")
+                    .append("\"area_px\":1200,\"hotspot_x\":130.5,\"hotspot_y\":90.5}");
+        }
+        return json.append(']').toString();
+    }
+}
@@ -0,0 +1,135 @@
+package com.devix.backend.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-JVM stand-in for the Python AI server. Serves /predict, /predict_batch and /update_thresholds
+ * with a configurable latency (base plus uniform jitter) and failure profile: a share of requests
+ * either fail with HTTP 500 or hang for {@code hangMs}, which is how a stuck model server looks.
+ */
+@Slf4j
+public class AiServerSimulator {
+
+    public enum FailureMode { ERROR, HANG }
+
+    private static final Pattern IMAGE_URL = Pattern.compile("\"([^\"]+\\.(?:jpg|jpeg|png))\"");
+
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double failureRate;
+    private final FailureMode failureMode;
+    private final long hangMs;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public AiServerSimulator(long latencyMs, long jitterMs, double failureRate, FailureMode failureMode, long hangMs) {
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.failureRate = failureRate;
+        this.failureMode = failureMode;
+        this.hangMs = hangMs;
+    }
+
+    public String start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        // One thread per request so simulated latency overlaps like a real inference server
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/predict", exchange -> handle(exchange, AiServerSimulator::prediction));
+        server.createContext("/predict_batch", exchange -> handle(exchange, AiServerSimulator::batchPrediction));
+        server.createContext("/update_thresholds", exchange -> handle(exchange, body -> "{\"status\":\"updated\"}"));
+        server.start();
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    private void handle(HttpExchange exchange, Function<String, String> responder) throws IOException {
+        requests.incrementAndGet();
+        try (exchange) {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            boolean fail = random.nextDouble() < failureRate;
+            if (fail) {
+                failures.incrementAndGet();
+            }
+            Thread.sleep(fail && failureMode == FailureMode.HANG ? hangMs : latencyMs + (jitterMs > 0 ? random.nextLong(jitterMs + 1) : 0));
+            if (fail) {
+                respond(exchange, 500, "{\"error\":\"simulated failure\"}");
+            } else {
+                respond(exchange, 200, responder.apply(body));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // The backend gave up on the request (timeout), nothing left to answer
+            log.debug("Simulated AI response not delivered: {}", e.getMessage());
+        }
+    }
+
+    private static String prediction(String body) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder json = new StringBuilder("[");
+        int detections = random.nextInt(4);
+        for (int i = 0; i < detections; i++) {
+            int x = random.nextInt(560);
+            int y = random.nextInt(440);
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"fault_type\":\"Loose Joint\",\"severity\":").append(random.nextDouble(0.2, 1.0))
+                    .append(",\"confidence\":").append(random.nextDouble(0.5, 1.0))
+                    .append(",\"x_coordinate\":").append(x + 20).append(",\"y_coordinate\":").append(y + 20)
+                    .append(",\"bbox\":[").append(x).append(',').append(y).append(",40,40]")
+                    .append(",\"area_px\":1600,\"hotspot_x\":").append(x + 20).append(",\"hotspot_y\":").append(y + 20)
+                    .append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    private static String batchPrediction(String body) {
+        StringBuilder results = new StringBuilder();
+        Matcher imageUrls = IMAGE_URL.matcher(body);
+        while (imageUrls.find()) {
+            results.append(results.isEmpty() ? "" : ",")
+                    .append("{\"imageUrl\":\"").append(imageUrls.group(1))
+                    .append("\",\"predictions\":").append(prediction(body)).append('}');
+        }
+        return "{\"results\":[" + results + "]}";
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+}
@@ -0,0 +1,287 @@
+package com.devix.backend.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * What a field inspector does against the backend: open comparison views, upload thermal images,
+ * submit evaluations, create inspections and page through listings. {@link #seed} creates the
+ * transformers, baselines and inspections the scripted actions work on. Like the UI, each
+ * inspection gets a thermal image once: uploads go to inspections from a pool that has none yet.
+ */
+public class InspectorScenario {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final int IMAGE_POOL_SIZE = 32;
+    private static final String[] CONDITIONS = {"Sunny", "Cloudy", "Rainy"};
+
+    // Cumulative weights (out of 100) of the scripted actions
+    private static final int COMPARISON_VIEW = 35;
+    private static final int UPLOAD = COMPARISON_VIEW + 15;
+    private static final int EVAL_SUBMISSION = UPLOAD + 15;
+    private static final int CREATE_INSPECTION = EVAL_SUBMISSION + 10;
+    private static final int LIST_INSPECTIONS = CREATE_INSPECTION + 10;
+    private static final int LIST_BY_TRANSFORMER = LIST_INSPECTIONS + 10;
+
+    private final String baseUrl;
+    private final LatencyRecorder recorder;
+    private final HttpClient httpClient;
+    private final List<byte[]> images = new ArrayList<>(IMAGE_POOL_SIZE);
+    private final List<String> transformerNos = new ArrayList<>();
+    // Inspections with a thermal image, and the ones still waiting for an upload
+    private final List<Map<String, Object>> inspections = new CopyOnWriteArrayList<>();
+    private final Queue<Map<String, Object>> awaitingUpload = new ConcurrentLinkedQueue<>();
+
+    public InspectorScenario(String baseUrl, LatencyRecorder recorder) throws IOException {
+        this.baseUrl = baseUrl;
+        this.recorder = recorder;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        Random random = new Random(42);
+        for (int i = 0; i < IMAGE_POOL_SIZE; i++) {
+            images.add(thermalImage(random));
+        }
+    }
+
+    /**
+     * Creates the fixture through the public API: transformers with baselines, inspections that
+     * each have a thermal image, so comparison views and evaluations have data to work on, and
+     * {@code uploadPool} inspections without one for the upload action.
+     */
+    public void seed(int transformers, int inspectionsPerTransformer, int uploadPool) throws Exception {
+        for (int t = 1; t <= transformers; t++) {
+            String transformerNo = String.format("LT-%03d", t);
+            Map<String, Object> transformer = new LinkedHashMap<>();
+            transformer.put("transformerNo", transformerNo);
+            transformer.put("transformerType", t % 2 == 0 ? "Bulk" : "Distribution");
+            transformer.put("transformerPoleNo", "P-" + t);
+            transformer.put("transformerRegion", "Region " + (t % 5));
+            transformer.put("transformerLocation", "Location " + t);
+            transformer.put("transformerCapacity", "100 kVA");
+            expectOk(send(jsonPost("/api/transformer/create", transformer)));
+
+            Multipart baseline = new Multipart()
+                    .file("baseImageSunny", "sunny.jpg", images.get(t % IMAGE_POOL_SIZE))
+                    .file("baseImageCloudy", "cloudy.jpg", images.get((t + 1) % IMAGE_POOL_SIZE))
+                    .file("baseImageRainy", "rainy.jpg", images.get((t + 2) % IMAGE_POOL_SIZE))
+                    .field("uploadedBy", "loadtest").field("uploadedDate", "2025-01-01").field("uploadedTime", "09:00");
+            expectOk(send(baseline.post(baseUrl + "/api/baseImage/add/" + transformerNo)));
+
+            transformerNos.add(transformerNo);
+        }
+        int seeded = transformers * inspectionsPerTransformer;
+        for (int i = 0; i < seeded + uploadPool; i++) {
+            String transformerNo = transformerNos.get(i % transformers);
+            expectOk(send(jsonPost("/api/inspection/create", inspectionRequest(transformerNo))));
+        }
+
+        HttpResponse<String> listing = expectOk(send(get("/api/inspection/getAll")));
+        List<Map<String, Object>> created = OBJECT_MAPPER.readValue(listing.body(), new TypeReference<>() {
+        });
+        for (Map<String, Object> inspection : created.subList(0, seeded)) {
+            expectOk(send(thermalUpload(inspection)));
+        }
+        inspections.addAll(created.subList(0, seeded));
+        awaitingUpload.addAll(created.subList(seeded, created.size()));
+    }
+
+    public int getInspectionCount() {
+        return inspections.size();
+    }
+
+    /**
+     * Runs one randomly chosen action and records its latency when {@code record} is set.
+     */
+    public void runOnce(boolean record) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<String, Object> inspection = inspections.get(random.nextInt(inspections.size()));
+        String inspectionNo = String.valueOf(inspection.get("inspectionNo"));
+        int roll = random.nextInt(100);
+
+        if (roll < COMPARISON_VIEW) {
+            execute("GET /api/inspectionImage/get/{inspectionNo}", get("/api/inspectionImage/get/" + inspectionNo), record);
+        } else if (roll < UPLOAD) {
+            Map<String, Object> fresh = awaitingUpload.poll();
+            if (fresh == null) {
+                // Pool used up: keep the mix going with a comparison view instead
+                execute("GET /api/inspectionImage/get/{inspectionNo}", get("/api/inspectionImage/get/" + inspectionNo), record);
+            } else if (execute("POST /api/inspectionImage/add/{inspectionNo}", thermalUpload(fresh), record)) {
+                inspections.add(fresh);
+            }
+        } else if (roll < EVAL_SUBMISSION) {
+            execute("POST /api/inspectionImage/createEvalResults", jsonPost("/api/inspectionImage/createEvalResults",
+                    List.of(evaluation(inspection))), record);
+        } else if (roll < CREATE_INSPECTION) {
+            execute("POST /api/inspection/create", jsonPost("/api/inspection/create",
+                    inspectionRequest(String.valueOf(inspection.get("transformerNo")))), record);
+        } else if (roll < LIST_INSPECTIONS) {
+            execute("GET /api/inspection/getAll?limit=50", get("/api/inspection/getAll?limit=50"), record);
+        } else if (roll < LIST_BY_TRANSFORMER) {
+            String transformerNo = transformerNos.get(random.nextInt(transformerNos.size()));
+            execute("GET /api/inspection/getAll/{transformerNo}?limit=50",
+                    get("/api/inspection/getAll/" + transformerNo + "?limit=50"), record);
+        } else {
+            execute("GET /api/transformer/getAll?limit=50", get("/api/transformer/getAll?limit=50"), record);
+        }
+    }
+
+    public int getUploadPoolRemaining() {
+        return awaitingUpload.size();
+    }
+
+    private boolean execute(String endpoint, HttpRequest request, boolean record) {
+        long start = System.nanoTime();
+        boolean success;
+        try {
+            success = send(request).statusCode() / 100 == 2;
+        } catch (Exception e) {
+            success = false;
+        }
+        if (record) {
+            recorder.record(endpoint, System.nanoTime() - start, success);
+        }
+        return success;
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> expectOk(HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Seeding failed on " + response.request().uri() + ": "
+                    + response.statusCode() + " " + response.body());
+        }
+        return response;
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofMinutes(2)).GET().build();
+    }
+
+    private HttpRequest jsonPost(String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofMinutes(2))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(OBJECT_MAPPER.writeValueAsString(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest thermalUpload(Map<String, Object> inspection) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new Multipart()
+                .file("thermalImage", "thermal.jpg", images.get(random.nextInt(IMAGE_POOL_SIZE)))
+                .field("transformerNo", String.valueOf(inspection.get("transformerNo")))
+                .field("imageCondition", CONDITIONS[random.nextInt(CONDITIONS.length)])
+                .field("uploadedBy", "loadtest").field("uploadedDate", "2025-01-01").field("uploadedTime", "10:00")
+                .post(baseUrl + "/api/inspectionImage/add/" + inspection.get("inspectionNo"));
+    }
+
+    private static Map<String, Object> inspectionRequest(String transformerNo) {
+        Map<String, Object> inspection = new LinkedHashMap<>();
+        inspection.put("inspectionDate", "2025-01-01");
+        inspection.put("inspectionTime", "10:00");
+        inspection.put("inspectionBranch", "Colombo");
+        inspection.put("transformerNo", transformerNo);
+        inspection.put("inspectionStatus", "pending");
+        inspection.put("inspectedby", "loadtest");
+        return inspection;
+    }
+
+    private static Map<String, String> evaluation(Map<String, Object> inspection) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int x = random.nextInt(560);
+        int y = random.nextInt(440);
+        Map<String, String> evaluation = new LinkedHashMap<>();
+        evaluation.put("inspectionNo", String.valueOf(inspection.get("inspectionNo")));
+        evaluation.put("transformerNo", String.valueOf(inspection.get("transformerNo")));
+        evaluation.put("anomalyStatus", "anomaly");
+        evaluation.put("faultType", "Loose Joint");
+        evaluation.put("faultSeverity", "0.8");
+        evaluation.put("faultConfidence", "0.9");
+        evaluation.put("XCoordinate", String.valueOf(x + 20));
+        evaluation.put("YCoordinate", String.valueOf(y + 20));
+        evaluation.put("bbox", "[" + x + "," + y + ",40,40]");
+        evaluation.put("areaPx", "1600");
+        evaluation.put("hotspotX", String.valueOf(x + 20));
+        evaluation.put("hotspotY", String.valueOf(y + 20));
+        evaluation.put("notes", "load test");
+        evaluation.put("evaluatedBy", "loadtest");
+        evaluation.put("evaluatedDate", "2025-01-02 09:00");
+        return evaluation;
+    }
+
+    // A 640x480 JPEG with a few hot spots; distinct images keep content deduplication realistic
+    private static byte[] thermalImage(Random random) throws IOException {
+        BufferedImage image = new BufferedImage(640, 480, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(new Color(20, 20, 90 + random.nextInt(60)));
+        graphics.fillRect(0, 0, 640, 480);
+        for (int i = 0; i < 6; i++) {
+            graphics.setColor(new Color(200 + random.nextInt(56), random.nextInt(200), 0));
+            graphics.fillOval(random.nextInt(600), random.nextInt(440), 10 + random.nextInt(40), 10 + random.nextInt(40));
+        }
+        graphics.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        return out.toByteArray();
+    }
+
+    private static final class Multipart {
+        private final String boundary = "loadtest-" + UUID.randomUUID();
+        private final List<byte[]> parts = new ArrayList<>();
+
+        Multipart field(String name, String value) {
+            parts.add(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+                    + value + "\r\n").getBytes(StandardCharsets.UTF_8));
+            return this;
+        }
+
+        Multipart file(String name, String fileName, byte[] content) {
+            parts.add(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + name + "\"; filename=\""
+                    + fileName + "\"\r\nContent-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+            parts.add(content);
+            parts.add("\r\n".getBytes(StandardCharsets.UTF_8));
+            return this;
+        }
+
+        HttpRequest post(String url) {
+            List<byte[]> body = new ArrayList<>(parts);
+            body.add(("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+            return HttpRequest.newBuilder(URI.create(url))
+                    .timeout(Duration.ofMinutes(2))
+                    .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                    .POST(HttpRequest.BodyPublishers.ofByteArrays(body))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.devix.backend.loadtest;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Collects every request latency per endpoint and reports throughput and percentiles. Samples are
+ * kept exactly rather than bucketed; a run of a few minutes stays in the low millions of longs.
+ */
+public class LatencyRecorder {
+
+    private final Map<String, Samples> endpoints = new ConcurrentSkipListMap<>();
+
+    public void record(String endpoint, long nanos, boolean success) {
+        endpoints.computeIfAbsent(endpoint, name -> new Samples()).add(nanos, success);
+    }
+
+    public void report(PrintStream out, double seconds) {
+        out.printf("%-52s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        endpoints.forEach((endpoint, samples) -> {
+            long[] sorted = samples.sorted();
+            out.printf("%-52s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    endpoint, sorted.length, samples.errors(), sorted.length / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1e6);
+        });
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int count;
+        private long errors;
+
+        synchronized void add(long value, boolean success) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = value;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(nanos, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+    }
+}
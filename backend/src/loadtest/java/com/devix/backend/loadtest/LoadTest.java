@@ -0,0 +1,171 @@
+package com.devix.backend.loadtest;
+
+import com.devix.backend.BackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Self-contained load test: starts the AI server simulator, boots the backend on a random port
+ * against an in-memory H2 database in PostgreSQL mode (or a local Postgres), seeds a fixture and
+ * lets {@code users} virtual inspectors run {@link InspectorScenario} for {@code duration} seconds.
+ * Prints throughput and p50/p90/p99 latency per endpoint, excluding the warmup.
+ *
+ * <p>Options, all {@code name=value} (a leading {@code --} is allowed):
+ * <ul>
+ *     <li>{@code users} (16), {@code duration} (60), {@code warmup} (10), {@code think-ms} (0)</li>
+ *     <li>{@code transformers} (10), {@code inspections} (5) per transformer in the fixture, and
+ *         {@code upload-pool} (1000) inspections without an image for the upload action</li>
+ *     <li>{@code ai-latency-ms} (200), {@code ai-jitter-ms} (100), {@code ai-failure-rate} (0.0),
+ *         {@code ai-failure-mode} (error or hang), {@code ai-hang-ms} (65000)</li>
+ *     <li>{@code jdbc-url}, {@code jdbc-user}, {@code jdbc-password} to use an empty local Postgres,
+ *         migrated by Flyway, instead of H2</li>
+ *     <li>{@code log-level} (WARN) for com.devix.backend</li>
+ *     <li>any other {@code spring.property=value} is passed to the backend, e.g.
+ *         {@code ai.predict.batch.enabled=true}</li>
+ * </ul>
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        // Devtools decides on restarting before the environment exists, so this must be a system property
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        int users = intOption(options, "users", 16);
+        int durationSeconds = intOption(options, "duration", 60);
+        int warmupSeconds = intOption(options, "warmup", 10);
+        long thinkMs = intOption(options, "think-ms", 0);
+
+        AiServerSimulator aiServer = new AiServerSimulator(
+                intOption(options, "ai-latency-ms", 200),
+                intOption(options, "ai-jitter-ms", 100),
+                Double.parseDouble(options.getOrDefault("ai-failure-rate", "0.0")),
+                AiServerSimulator.FailureMode.valueOf(options.getOrDefault("ai-failure-mode", "error").toUpperCase(Locale.ROOT)),
+                intOption(options, "ai-hang-ms", 65000));
+        String aiServerUrl = aiServer.start();
+        Path uploadDir = Files.createTempDirectory("loadtest-uploads-");
+
+        ConfigurableApplicationContext context = null;
+        try {
+            context = startBackend(options, aiServerUrl, uploadDir);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            LatencyRecorder recorder = new LatencyRecorder();
+            InspectorScenario scenario = new InspectorScenario("http://localhost:" + port, recorder);
+            scenario.seed(intOption(options, "transformers", 10), intOption(options, "inspections", 5),
+                    intOption(options, "upload-pool", 1000));
+            System.out.printf("Seeded %d inspections; running %d users for %ds (%ds warmup)%n",
+                    scenario.getInspectionCount(), users, durationSeconds, warmupSeconds);
+
+            long start = System.nanoTime();
+            long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+            long end = start + TimeUnit.SECONDS.toNanos(durationSeconds);
+            ExecutorService inspectors = Executors.newFixedThreadPool(users);
+            for (int i = 0; i < users; i++) {
+                inspectors.execute(() -> {
+                    while (System.nanoTime() < end) {
+                        scenario.runOnce(System.nanoTime() >= measureFrom);
+                        if (thinkMs > 0) {
+                            try {
+                                Thread.sleep(thinkMs);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                return;
+                            }
+                        }
+                    }
+                });
+            }
+            inspectors.shutdown();
+            inspectors.awaitTermination(durationSeconds + 300L, TimeUnit.SECONDS);
+
+            System.out.println();
+            recorder.report(System.out, Math.max(durationSeconds - warmupSeconds, 1));
+            System.out.printf("%nAI server simulator: %d requests, %d simulated failures; %d inspections left in the upload pool%n",
+                    aiServer.getRequests(), aiServer.getFailures(), scenario.getUploadPoolRemaining());
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            aiServer.stop();
+            FileSystemUtils.deleteRecursively(uploadDir);
+        }
+        // Reactor and HTTP client threads would otherwise keep the JVM alive
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext startBackend(Map<String, String> options, String aiServerUrl, Path uploadDir) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("ai.server.url", aiServerUrl);
+        properties.put("image.upload.dir", uploadDir.toString().replace("\\", "/"));
+        properties.put("data.seeder.enabled", false);
+        properties.put("image.gc.enabled", false);
+        properties.put("logging.level.com.devix.backend", options.getOrDefault("log-level", "WARN"));
+
+        boolean h2 = !options.containsKey("jdbc-url");
+        if (h2) {
+            properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                    + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+            properties.put("spring.datasource.username", "sa");
+            properties.put("spring.datasource.password", "");
+            properties.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+            // The migrations are PostgreSQL-specific, so H2 gets its schema from the entities
+            properties.put("spring.flyway.enabled", false);
+            properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        } else {
+            properties.put("spring.datasource.url", options.get("jdbc-url"));
+            properties.put("spring.datasource.username", options.getOrDefault("jdbc-user", "postgres"));
+            properties.put("spring.datasource.password", options.getOrDefault("jdbc-password", ""));
+        }
+        options.forEach((name, value) -> {
+            if (name.contains(".")) {
+                properties.put(name, value);
+            }
+        });
+
+        // As command-line arguments so they override application.properties
+        String[] backendArgs = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class).run(backendArgs);
+        if (h2) {
+            // Created by the V7 migration on Postgres; must match inspection.no.block-size
+            context.getBean(JdbcTemplate.class)
+                    .execute("CREATE SEQUENCE IF NOT EXISTS inspection_no_seq START WITH 1 INCREMENT BY 50");
+        }
+        return context;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int eq = option.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected name=value, got: " + arg);
+            }
+            options.put(option.substring(0, eq), option.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        String value = options.get(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+}
@@ -0,0 +1,26 @@
+package com.devix.backend.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AiAnalysisConfig {
+
+    // Workers for the blocking repository steps of the AI analysis pipeline, virtual threads when enabled
+    @Bean(name = "aiAnalysisExecutor")
+    public ThreadPoolTaskExecutor aiAnalysisExecutor(@Value("${ai.analysis.workers:2}") int workers,
+                                                     @Value("${ai.analysis.queue-capacity:500}") int queueCapacity,
+                                                     @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ai-analysis-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
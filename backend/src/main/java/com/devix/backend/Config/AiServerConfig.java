@@ -0,0 +1,50 @@
+package com.devix.backend.Config;
+
+import com.devix.backend.service.CircuitBreaker;
+import com.devix.backend.service.RetryPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+
+@Configuration
+public class AiServerConfig {
+
+    // The read timeout is what turns a hung AI server into an error instead of a call that never returns
+    @Bean(name = "aiServerWebClient")
+    public WebClient aiServerWebClient(@Value("${ai.server.url:http://localhost:5001}") String aiServerUrl,
+                                       @Value("${ai.server.connect-timeout-ms:3000}") int connectTimeoutMs,
+                                       @Value("${ai.server.read-timeout-ms:30000}") long readTimeoutMs) {
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(readTimeoutMs));
+        return WebClient.builder()
+                .baseUrl(aiServerUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    @Bean(name = "aiServerCircuitBreaker")
+    public CircuitBreaker aiServerCircuitBreaker(MeterRegistry meterRegistry,
+                                                 @Value("${ai.server.circuit.failure-threshold:5}") int failureThreshold,
+                                                 @Value("${ai.server.circuit.open-ms:30000}") long openMs) {
+        return new CircuitBreaker("ai-server", failureThreshold, Duration.ofMillis(openMs), meterRegistry);
+    }
+
+    @Bean(name = "aiServerRetryPolicy")
+    public RetryPolicy aiServerRetryPolicy(MeterRegistry meterRegistry,
+                                           @Value("${ai.server.retry.max-retries:2}") int maxRetries,
+                                           @Value("${ai.server.retry.backoff-ms:200}") long backoffMs,
+                                           @Value("${ai.server.retry.max-backoff-ms:2000}") long maxBackoffMs,
+                                           @Value("${ai.server.retry.budget-ratio:0.2}") double budgetRatio,
+                                           @Value("${ai.server.retry.budget-reserve:10}") int budgetReserve) {
+        return new RetryPolicy("ai-server", maxRetries, Duration.ofMillis(backoffMs), Duration.ofMillis(maxBackoffMs),
+                budgetRatio, budgetReserve, meterRegistry);
+    }
+}
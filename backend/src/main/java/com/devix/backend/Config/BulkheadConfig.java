@@ -0,0 +1,28 @@
+package com.devix.backend.Config;
+
+import com.devix.backend.service.Bulkhead;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// Concurrency limits per downstream; the database one is the Hikari pool (spring.datasource.hikari.*)
+@Configuration
+public class BulkheadConfig {
+
+    @Bean(name = "aiServerBulkhead")
+    public Bulkhead aiServerBulkhead(MeterRegistry meterRegistry,
+                                     @Value("${ai.server.max-concurrency:8}") int maxConcurrency,
+                                     @Value("${ai.server.max-wait-ms:5000}") long maxWaitMs) {
+        return new Bulkhead("ai-server", maxConcurrency, Duration.ofMillis(maxWaitMs), meterRegistry);
+    }
+
+    @Bean(name = "imageStoreBulkhead")
+    public Bulkhead imageStoreBulkhead(MeterRegistry meterRegistry,
+                                       @Value("${image.store.max-concurrency:16}") int maxConcurrency,
+                                       @Value("${image.store.max-wait-ms:5000}") long maxWaitMs) {
+        return new Bulkhead("image-store", maxConcurrency, Duration.ofMillis(maxWaitMs), meterRegistry);
+    }
+}
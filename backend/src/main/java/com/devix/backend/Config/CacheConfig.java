@@ -0,0 +1,31 @@
+package com.devix.backend.Config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String TRANSFORMERS = "transformers";
+    public static final String BASELINE_IMAGES = "baselineImages";
+
+    // Transformer and baseline rows keyed by transformerNo; the TTL bounds staleness from writes outside the services
+    @Bean
+    public CacheManager cacheManager(@Value("${reference.cache.max-size:10000}") long maxSize,
+                                     @Value("${reference.cache.ttl-seconds:600}") long ttlSeconds) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(TRANSFORMERS, BASELINE_IMAGES);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats());
+        return cacheManager;
+    }
+}
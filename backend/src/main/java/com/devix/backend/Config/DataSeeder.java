@@ -4,6 +4,7 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import com.devix.backend.model.AiResults;
@@ -20,6 +21,7 @@ import com.devix.backend.service.AiService;
 
 
 @Component
+@ConditionalOnProperty(name = "data.seeder.enabled", havingValue = "true", matchIfMissing = true)
 public class DataSeeder implements CommandLineRunner {
 
     @Value("${backend.absolute.path}")
@@ -71,6 +73,7 @@ public class DataSeeder implements CommandLineRunner {
             Inspection inspection6 = new Inspection("00006", "2023-10-06", "15:00", "Colombo", "pending", "AZ-002", "Devix");
 
             inspectionRepo.saveAll(List.of(inspection1, inspection2, inspection3, inspection4, inspection5, inspection6));
+            inspectionRepo.syncInspectionNoSequence();
 
             String seedImagePath = backendPath + "/src/main/resources/seed_images/";
             
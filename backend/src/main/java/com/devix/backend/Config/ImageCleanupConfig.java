@@ -0,0 +1,27 @@
+package com.devix.backend.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ImageCleanupConfig {
+
+    // Releases image references and deletes files after bulk deletes; never drops work, a dropped release would leak the file
+    @Bean(name = "imageCleanupExecutor")
+    public ThreadPoolTaskExecutor imageCleanupExecutor(@Value("${image.cleanup.workers:1}") int workers,
+                                                       @Value("${image.cleanup.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-cleanup-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
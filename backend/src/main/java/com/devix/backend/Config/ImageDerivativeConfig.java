@@ -0,0 +1,28 @@
+package com.devix.backend.Config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@Slf4j
+public class ImageDerivativeConfig {
+
+    // Bounded pool so a burst of uploads queues derivative work instead of starving request threads
+    @Bean(name = "imageDerivativeExecutor")
+    public ThreadPoolTaskExecutor imageDerivativeExecutor(@Value("${image.derivatives.workers:2}") int workers,
+                                                          @Value("${image.derivatives.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-derivative-");
+        // Drop work when the queue is full; the original image is served until derivatives exist
+        executor.setRejectedExecutionHandler((task, pool) -> log.warn("Image derivative queue is full, skipping derivative generation"));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,27 @@
+package com.devix.backend.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ImageIngestConfig {
+
+    // Writers for bulk thermal ingest; callers wait for every file, so tasks run on the caller when the queue is full
+    @Bean(name = "imageIngestExecutor")
+    public ThreadPoolTaskExecutor imageIngestExecutor(@Value("${image.ingest.workers:4}") int workers,
+                                                      @Value("${image.ingest.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-ingest-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,11 +1,14 @@
 package com.devix.backend.controller;
 
 import com.devix.backend.service.BaselineImageService;
+import com.devix.backend.service.Impl.LocalImageService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @Slf4j
@@ -14,22 +17,27 @@ import org.springframework.web.multipart.MultipartFile;
 public class BaseImageController {
 
     private final BaselineImageService baselineImageService;
-    public BaseImageController(BaselineImageService baselineImageService) {
+    private final LocalImageService localImageService;
+    public BaseImageController(BaselineImageService baselineImageService, LocalImageService localImageService) {
         this.baselineImageService = baselineImageService;
+        this.localImageService = localImageService;
     }
 
     @PostMapping(value = "/add/{transformerNo}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<?> addBaseImage(@PathVariable("transformerNo") String transformerNo,
-                                          @RequestParam("baseImageSunny") MultipartFile baseImageSunny,
-                                          @RequestParam("baseImageCloudy") MultipartFile baseImageCloudy,
-                                          @RequestParam("baseImageRainy") MultipartFile baseImageRainy,
+                                          @RequestParam(value = "baseImageSunny", required = false) MultipartFile baseImageSunny,
+                                          @RequestParam(value = "baseImageCloudy", required = false) MultipartFile baseImageCloudy,
+                                          @RequestParam(value = "baseImageRainy", required = false) MultipartFile baseImageRainy,
+                                          @RequestParam(value = "sunnyImageHash", required = false) String sunnyImageHash,
+                                          @RequestParam(value = "cloudyImageHash", required = false) String cloudyImageHash,
+                                          @RequestParam(value = "rainyImageHash", required = false) String rainyImageHash,
                                           @RequestParam("uploadedBy") String uploadedBy,
                                           @RequestParam("uploadedDate") String uploadedDate,
                                           @RequestParam("uploadedTime") String uploadedTime) {
 
         log.info("Adding base image for transformer: {}", transformerNo);
         try {
-            baselineImageService.addBaseImage(transformerNo, baseImageSunny, baseImageCloudy, baseImageRainy, uploadedBy, uploadedDate, uploadedTime);
+            baselineImageService.addBaseImage(transformerNo, baseImageSunny, baseImageCloudy, baseImageRainy, sunnyImageHash, cloudyImageHash, rainyImageHash, uploadedBy, uploadedDate, uploadedTime);
             return ResponseEntity.ok("Base image added successfully");
         } catch (Exception e) {
             log.error("Error adding base image: {}", e.getMessage(), e);
@@ -59,4 +67,34 @@ public class BaseImageController {
             return ResponseEntity.status(500).body(e.getMessage());
         }
     }
+
+    @GetMapping("/image/{imageId}/{condition}")
+    public ResponseEntity<StreamingResponseBody> getBaseImageFile(@PathVariable("imageId") Long imageId,
+                                                                  @PathVariable("condition") String condition,
+                                                                  @RequestParam(value = "size", required = false) String size,
+                                                                  @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+                                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.info("Streaming {} base image: {}", condition, imageId);
+        try {
+            return localImageService.streamImage(baselineImageService.getBaseImagePath(imageId, condition, size), range, ifNoneMatch);
+        } catch (Exception e) {
+            log.error("Error streaming base image: {}", e.getMessage(), e);
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/image/{imageId}/{condition}/tile/{level}/{x}/{y}")
+    public ResponseEntity<StreamingResponseBody> getBaseImageTile(@PathVariable("imageId") Long imageId,
+                                                                  @PathVariable("condition") String condition,
+                                                                  @PathVariable("level") int level,
+                                                                  @PathVariable("x") int x,
+                                                                  @PathVariable("y") int y,
+                                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            return localImageService.streamImage(baselineImageService.getBaseTilePath(imageId, condition, level, x, y), null, ifNoneMatch);
+        } catch (Exception e) {
+            log.error("Error streaming base image tile: {}", e.getMessage(), e);
+            return ResponseEntity.notFound().build();
+        }
+    }
 }
@@ -0,0 +1,30 @@
+package com.devix.backend.controller;
+
+import com.devix.backend.service.Impl.ReferenceDataCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@Slf4j
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "*")
+public class CacheController {
+
+    private final ReferenceDataCache referenceDataCache;
+
+    public CacheController(ReferenceDataCache referenceDataCache) {
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<?> getCacheStats() {
+        log.info("Fetching reference data cache stats");
+        try {
+            return ResponseEntity.ok(referenceDataCache.getStats());
+        } catch (Exception e) {
+            log.error("Error fetching reference data cache stats: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.devix.backend.controller;
+
+import com.devix.backend.service.Impl.ImageCacheService;
+import com.devix.backend.service.Impl.ImageDerivativeService;
+import com.devix.backend.service.Impl.LocalImageService;
+import com.devix.backend.service.Impl.OrphanImageCollector;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Map;
+
+@RestController
+@Slf4j
+@RequestMapping("/api/image")
+@CrossOrigin(origins = "*")
+public class ImageController {
+
+    private final LocalImageService localImageService;
+    private final ImageDerivativeService imageDerivativeService;
+    private final ImageCacheService imageCacheService;
+    private final OrphanImageCollector orphanImageCollector;
+
+    public ImageController(LocalImageService localImageService, ImageDerivativeService imageDerivativeService,
+                           ImageCacheService imageCacheService, OrphanImageCollector orphanImageCollector) {
+        this.localImageService = localImageService;
+        this.imageDerivativeService = imageDerivativeService;
+        this.imageCacheService = imageCacheService;
+        this.orphanImageCollector = orphanImageCollector;
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<?> getCacheStats() {
+        log.info("Fetching image cache stats");
+        try {
+            return ResponseEntity.ok(imageCacheService.getStats());
+        } catch (Exception e) {
+            log.error("Error fetching image cache stats: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/gc/stats")
+    public ResponseEntity<?> getGcStats() {
+        log.info("Fetching orphaned image collector stats");
+        try {
+            return ResponseEntity.ok(orphanImageCollector.getStats());
+        } catch (Exception e) {
+            log.error("Error fetching orphaned image collector stats: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/exists/{digest}")
+    public ResponseEntity<?> imageExists(@PathVariable("digest") String digest) {
+        log.info("Checking stored image: {}", digest);
+        try {
+            return ResponseEntity.ok(Map.of("exists", localImageService.exists(digest)));
+        } catch (Exception e) {
+            log.error("Error checking stored image: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{digest}")
+    public ResponseEntity<StreamingResponseBody> getImage(@PathVariable("digest") String digest,
+                                                          @RequestParam(value = "size", required = false) String size,
+                                                          @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+                                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            String path = localImageService.getPathByDigest(digest);
+            if (path == null) {
+                return ResponseEntity.notFound().build();
+            }
+            String resolvedPath = imageDerivativeService.resolve(path, size);
+            // A missing derivative falls back to the original, which must not be cached under the size URL
+            boolean immutable = size == null || "original".equalsIgnoreCase(size) || !resolvedPath.equals(path);
+            return localImageService.streamImage(resolvedPath, range, ifNoneMatch, immutable);
+        } catch (Exception e) {
+            log.error("Error streaming image: {}", e.getMessage(), e);
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
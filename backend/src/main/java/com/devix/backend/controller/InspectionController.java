@@ -1,10 +1,16 @@
 package com.devix.backend.controller;
 
 import com.devix.backend.dto.InspectionRequestDto;
+import com.devix.backend.dto.InspectionSearchDto;
 import com.devix.backend.service.InspectionService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/inspection")
@@ -12,6 +18,8 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin(origins = "*"  )
 public class InspectionController {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+
     private final InspectionService inspectionService;
 
     public InspectionController(InspectionService inspectionService) {
@@ -41,10 +49,19 @@ public class InspectionController {
         }
     }
 
+    // Without cursor/limit this still returns the full list; Accept: application/x-ndjson streams every row
     @GetMapping("/getAll")
-    public ResponseEntity<?> getAllInspections() {
+    public ResponseEntity<?> getAllInspections(@RequestParam(value = "cursor", required = false) Long cursor,
+                                               @RequestParam(value = "limit", required = false) Integer limit,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         try {
             log.info("Fetching all inspections");
+            if (accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE)) {
+                return streamInspections(null);
+            }
+            if (cursor != null || limit != null) {
+                return ResponseEntity.ok(inspectionService.getInspectionsPage(null, cursor, limit == null ? DEFAULT_PAGE_SIZE : limit));
+            }
             return ResponseEntity.ok(inspectionService.getAllInspections());
         } catch (Exception e) {
             log.error("Error fetching inspections: {}", e.getMessage(), e);
@@ -54,9 +71,18 @@ public class InspectionController {
 
 
     @GetMapping("/getAll/{transformerNo}")
-    public ResponseEntity<?> getInspectionsByTransformerNo(@PathVariable("transformerNo") String transformerNo) {
+    public ResponseEntity<?> getInspectionsByTransformerNo(@PathVariable("transformerNo") String transformerNo,
+                                                           @RequestParam(value = "cursor", required = false) Long cursor,
+                                                           @RequestParam(value = "limit", required = false) Integer limit,
+                                                           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         try {
             log.info("Fetching inspections for transformer: {}", transformerNo);
+            if (accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE)) {
+                return streamInspections(transformerNo);
+            }
+            if (cursor != null || limit != null) {
+                return ResponseEntity.ok(inspectionService.getInspectionsPage(transformerNo, cursor, limit == null ? DEFAULT_PAGE_SIZE : limit));
+            }
             return ResponseEntity.ok(inspectionService.getInspectionsByTransformerNo(transformerNo));
         } catch (Exception e) {
             log.error("Error fetching inspections: {}", e.getMessage(), e);
@@ -64,6 +90,32 @@ public class InspectionController {
         }
     }
 
+    // Filters are query parameters named like InspectionSearchDto's fields, e.g.
+    // ?inspectionStatus=pending&dateFrom=2025-01-01&transformerRegion=Colombo&faultType=Loose%20Joint
+    @GetMapping("/search")
+    public ResponseEntity<?> searchInspections(@ModelAttribute InspectionSearchDto search,
+                                               @RequestParam(value = "cursor", required = false) Long cursor,
+                                               @RequestParam(value = "limit", required = false) Integer limit,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        try {
+            log.info("Searching inspections: {}", search);
+            if (accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE)) {
+                StreamingResponseBody body = out -> {
+                    try {
+                        inspectionService.streamSearchInspections(search, out);
+                    } catch (Exception e) {
+                        throw new IOException(e.getMessage(), e);
+                    }
+                };
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+            }
+            return ResponseEntity.ok(inspectionService.searchInspections(search, cursor, limit == null ? DEFAULT_PAGE_SIZE : limit));
+        } catch (Exception e) {
+            log.error("Error searching inspections: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body(e.getMessage());
+        }
+    }
+
     @GetMapping("/status/{inspectionNo}")
     public ResponseEntity<?> getInspectionStatus(@PathVariable("inspectionNo") String inspectionNo) {
         try {
@@ -75,5 +127,15 @@ public class InspectionController {
         }
     }
 
+    private ResponseEntity<StreamingResponseBody> streamInspections(String transformerNo) {
+        StreamingResponseBody body = out -> {
+            try {
+                inspectionService.streamInspections(transformerNo, out);
+            } catch (Exception e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
 
 }
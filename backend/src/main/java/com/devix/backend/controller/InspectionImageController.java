@@ -1,15 +1,22 @@
 package com.devix.backend.controller;
 
+import com.devix.backend.dto.ReportExportRequestDto;
+import com.devix.backend.service.BulkIngestService;
 import com.devix.backend.service.InspectionImageService;
+import com.devix.backend.service.Impl.LocalImageService;
+import com.devix.backend.service.ReportExportService;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @Slf4j
@@ -18,22 +25,30 @@ import org.springframework.web.multipart.MultipartFile;
 public class InspectionImageController {
 
     private final InspectionImageService inspectionImageService;
+    private final LocalImageService localImageService;
+    private final ReportExportService reportExportService;
+    private final BulkIngestService bulkIngestService;
 
-    public InspectionImageController(InspectionImageService inspectionService) {
+    public InspectionImageController(InspectionImageService inspectionService, LocalImageService localImageService,
+                                     ReportExportService reportExportService, BulkIngestService bulkIngestService) {
         this.inspectionImageService = inspectionService;
+        this.localImageService = localImageService;
+        this.reportExportService = reportExportService;
+        this.bulkIngestService = bulkIngestService;
     }
 
     @PostMapping(value = "/add/{inspectionNo}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<?> addThermalImage(@PathVariable("inspectionNo") String inspectionNo,
                                              @RequestParam("transformerNo") String transformerNo,
                                              @RequestParam("imageCondition") String imageCondition,
-                                             @RequestParam("thermalImage") MultipartFile thermalImage,
+                                             @RequestParam(value = "thermalImage", required = false) MultipartFile thermalImage,
+                                             @RequestParam(value = "thermalImageHash", required = false) String thermalImageHash,
                                              @RequestParam("uploadedBy") String uploadedBy,
                                              @RequestParam("uploadedDate") String uploadedDate,
                                              @RequestParam("uploadedTime") String uploadedTime) {
         try {
             log.info("Adding thermal image for inspection: {}", inspectionNo);
-            inspectionImageService.addThermalImage(inspectionNo, transformerNo, imageCondition, thermalImage, uploadedBy, uploadedDate, uploadedTime);
+            inspectionImageService.addThermalImage(inspectionNo, transformerNo, imageCondition, thermalImage, thermalImageHash, uploadedBy, uploadedDate, uploadedTime);
             return ResponseEntity.ok("Thermal image added successfully");
         } catch (Exception e) {
             log.error("Error adding thermal image: {}", e.getMessage(), e);
@@ -41,6 +56,54 @@ public class InspectionImageController {
         }
     }
 
+    // Either files + manifest (JSON array of BulkIngestManifestEntryDto), or one ZIP archive with manifest.json inside
+    @PostMapping(value = "/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> bulkAddThermalImages(@RequestParam(value = "files", required = false) List<MultipartFile> files,
+                                                  @RequestParam(value = "manifest", required = false) String manifest,
+                                                  @RequestParam(value = "archive", required = false) MultipartFile archive,
+                                                  @RequestParam(value = "uploadedBy", required = false) String uploadedBy,
+                                                  @RequestParam(value = "uploadedDate", required = false) String uploadedDate,
+                                                  @RequestParam(value = "uploadedTime", required = false) String uploadedTime) {
+        try {
+            if (archive != null && !archive.isEmpty()) {
+                log.info("Bulk adding thermal images from archive: {}", archive.getOriginalFilename());
+                return ResponseEntity.ok(bulkIngestService.ingestArchive(archive, uploadedBy, uploadedDate, uploadedTime));
+            }
+            log.info("Bulk adding {} thermal images", files == null ? 0 : files.size());
+            return ResponseEntity.ok(bulkIngestService.ingestFiles(files, manifest, uploadedBy, uploadedDate, uploadedTime));
+        } catch (Exception e) {
+            log.error("Error bulk adding thermal images: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body(e.getMessage());
+        }
+    }
+
+    // Streams reports for every matching inspection; zip=true wraps the stream in a single-entry zip
+    @PostMapping("/report/export")
+    public ResponseEntity<?> exportReports(@RequestBody(required = false) ReportExportRequestDto filter,
+                                           @RequestParam(value = "format", defaultValue = "ndjson") String format,
+                                           @RequestParam(value = "zip", defaultValue = "false") boolean zip) {
+        log.info("Exporting reports as {} (zip: {})", format, zip);
+        if (!ReportExportService.NDJSON.equals(format) && !ReportExportService.CSV.equals(format)) {
+            return ResponseEntity.badRequest().body("Unsupported export format: " + format);
+        }
+        ReportExportRequestDto exportFilter = filter != null ? filter : new ReportExportRequestDto();
+        StreamingResponseBody body = out -> {
+            try {
+                reportExportService.exportReports(exportFilter, format, zip, out);
+            } catch (Exception e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        };
+        MediaType contentType = zip ? MediaType.parseMediaType("application/zip")
+                : ReportExportService.CSV.equals(format) ? MediaType.parseMediaType("text/csv")
+                : MediaType.APPLICATION_NDJSON;
+        String fileName = "reports." + format + (zip ? ".zip" : "");
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
     @GetMapping("/get/{inspectionNo}")
     public ResponseEntity<?> getComparisonImage(@PathVariable("inspectionNo") String inspectionNo) {
         try {
@@ -86,4 +149,32 @@ public class InspectionImageController {
         }
 
     }
+
+    @GetMapping("/image/{imageId}")
+    public ResponseEntity<StreamingResponseBody> getThermalImage(@PathVariable("imageId") Long imageId,
+                                                                 @RequestParam(value = "size", required = false) String size,
+                                                                 @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+                                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            log.info("Streaming thermal image: {}", imageId);
+            return localImageService.streamImage(inspectionImageService.getThermalImagePath(imageId, size), range, ifNoneMatch);
+        } catch (Exception e) {
+            log.error("Error streaming thermal image: {}", e.getMessage(), e);
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/image/{imageId}/tile/{level}/{x}/{y}")
+    public ResponseEntity<StreamingResponseBody> getThermalImageTile(@PathVariable("imageId") Long imageId,
+                                                                     @PathVariable("level") int level,
+                                                                     @PathVariable("x") int x,
+                                                                     @PathVariable("y") int y,
+                                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            return localImageService.streamImage(inspectionImageService.getThermalTilePath(imageId, level, x, y), null, ifNoneMatch);
+        } catch (Exception e) {
+            log.error("Error streaming thermal image tile: {}", e.getMessage(), e);
+            return ResponseEntity.notFound().build();
+        }
+    }
 }
@@ -3,8 +3,13 @@ package com.devix.backend.controller;
 import com.devix.backend.dto.TransformerRequestDto;
 import com.devix.backend.service.TransformerService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
 
 
 @RestController
@@ -13,6 +18,8 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin(origins = "*")
 public class TransformerController {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+
     private final TransformerService transformerService;
 
     public TransformerController(TransformerService transformerService) {
@@ -33,10 +40,26 @@ public class TransformerController {
 
 
 
+    // Without cursor/limit this still returns the full list; Accept: application/x-ndjson streams every row
     @GetMapping("/getAll")
-    public ResponseEntity<?> getAllTransformers() {
+    public ResponseEntity<?> getAllTransformers(@RequestParam(value = "cursor", required = false) Long cursor,
+                                                @RequestParam(value = "limit", required = false) Integer limit,
+                                                @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         log.info("Fetching all transformers in Controller");
         try {
+            if (accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE)) {
+                StreamingResponseBody body = out -> {
+                    try {
+                        transformerService.streamTransformers(out);
+                    } catch (Exception e) {
+                        throw new IOException(e.getMessage(), e);
+                    }
+                };
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+            }
+            if (cursor != null || limit != null) {
+                return ResponseEntity.ok(transformerService.getTransformersPage(cursor, limit == null ? DEFAULT_PAGE_SIZE : limit));
+            }
             return ResponseEntity.ok(transformerService.getAllTransformers());
         } catch (Exception e) {
             log.error("Error fetching transformers: {}", e.getMessage(), e);
@@ -0,0 +1,110 @@
+package com.devix.backend.controller;
+
+import com.devix.backend.model.UploadSession;
+import com.devix.backend.service.Impl.ResumableUploadService;
+import com.devix.backend.service.Impl.ResumableUploadService.UploadConflictException;
+import com.devix.backend.service.Impl.ResumableUploadService.UploadNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Resumable uploads (tus-style):
+ * POST /api/upload with Upload-Length creates a session,
+ * HEAD /api/upload/{id} returns Upload-Offset,
+ * PATCH /api/upload/{id} with Upload-Offset and an application/offset+octet-stream body appends a chunk,
+ * POST /api/upload/{id}/finalize stores the file and returns its digest for the *ImageHash parameters.
+ */
+@RestController
+@Slf4j
+@RequestMapping("/api/upload")
+@CrossOrigin(origins = "*", exposedHeaders = {"Location", "Upload-Offset", "Upload-Length"})
+public class UploadController {
+
+    private static final String UPLOAD_LENGTH = "Upload-Length";
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+
+    private final ResumableUploadService resumableUploadService;
+
+    public UploadController(ResumableUploadService resumableUploadService) {
+        this.resumableUploadService = resumableUploadService;
+    }
+
+    @PostMapping
+    public ResponseEntity<?> createUpload(@RequestHeader(UPLOAD_LENGTH) long uploadLength,
+                                          @RequestParam("fileName") String fileName) {
+        try {
+            log.info("Creating upload for {} ({} bytes)", fileName, uploadLength);
+            UploadSession session = resumableUploadService.create(fileName, uploadLength);
+            return ResponseEntity.created(URI.create("/api/upload/" + session.getId()))
+                    .header(UPLOAD_OFFSET, "0")
+                    .body(Map.of("uploadId", session.getId()));
+        } catch (Exception e) {
+            return error("Error creating upload", e);
+        }
+    }
+
+    @RequestMapping(value = "/{uploadId}", method = RequestMethod.HEAD)
+    public ResponseEntity<?> getOffset(@PathVariable("uploadId") String uploadId) {
+        try {
+            UploadSession session = resumableUploadService.getSession(uploadId);
+            return ResponseEntity.ok()
+                    .header(UPLOAD_OFFSET, String.valueOf(resumableUploadService.getOffset(session)))
+                    .header(UPLOAD_LENGTH, String.valueOf(session.getUploadLength()))
+                    .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                    .build();
+        } catch (Exception e) {
+            return error("Error fetching upload offset", e);
+        }
+    }
+
+    // The body is read from the raw request stream; Spring does not buffer it
+    @PatchMapping(value = "/{uploadId}", consumes = "application/offset+octet-stream")
+    public ResponseEntity<?> appendChunk(@PathVariable("uploadId") String uploadId,
+                                         @RequestHeader(UPLOAD_OFFSET) long offset,
+                                         HttpServletRequest request) {
+        try {
+            UploadSession session = resumableUploadService.getSession(uploadId);
+            long newOffset = resumableUploadService.append(session, offset, request.getInputStream());
+            return ResponseEntity.noContent().header(UPLOAD_OFFSET, String.valueOf(newOffset)).build();
+        } catch (Exception e) {
+            return error("Error appending upload chunk", e);
+        }
+    }
+
+    @PostMapping("/{uploadId}/finalize")
+    public ResponseEntity<?> finalizeUpload(@PathVariable("uploadId") String uploadId) {
+        try {
+            log.info("Finalizing upload {}", uploadId);
+            UploadSession session = resumableUploadService.getSession(uploadId);
+            return ResponseEntity.ok(Map.of("digest", resumableUploadService.finalizeUpload(session)));
+        } catch (Exception e) {
+            return error("Error finalizing upload", e);
+        }
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<?> cancelUpload(@PathVariable("uploadId") String uploadId) {
+        try {
+            log.info("Cancelling upload {}", uploadId);
+            resumableUploadService.cancel(resumableUploadService.getSession(uploadId));
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            return error("Error cancelling upload", e);
+        }
+    }
+
+    private ResponseEntity<?> error(String context, Exception e) {
+        log.error("{}: {}", context, e.getMessage(), e);
+        int status = e instanceof UploadNotFoundException ? 404
+                : e instanceof UploadConflictException ? 409
+                : e instanceof IllegalArgumentException ? 400
+                : 500;
+        return ResponseEntity.status(status).body(e.getMessage());
+    }
+}
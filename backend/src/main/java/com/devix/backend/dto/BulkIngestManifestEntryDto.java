@@ -0,0 +1,17 @@
+package com.devix.backend.dto;
+
+import lombok.Data;
+
+@Data
+public class BulkIngestManifestEntryDto {
+
+    // Name of the uploaded part, or path of the entry inside the ZIP
+    private String fileName;
+    private String inspectionNo;
+    private String imageCondition;
+    // Optional, default to the request's uploadedBy / uploadedDate / uploadedTime
+    private String uploadedBy;
+    private String uploadedDate;
+    private String uploadedTime;
+
+}
@@ -0,0 +1,17 @@
+package com.devix.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkIngestResultDto {
+
+    private String fileName;
+    private String inspectionNo;
+    private boolean success;
+    private String error;
+
+}
@@ -0,0 +1,18 @@
+package com.devix.backend.dto;
+
+import lombok.Data;
+
+@Data
+public class InspectionSearchDto {
+
+    // All filters are optional and combined with AND
+    private String inspectionStatus;
+    private String dateFrom; // inclusive, yyyy-MM-dd
+    private String dateTo;   // inclusive, yyyy-MM-dd
+    private String inspectionBranch;
+    private String transformerRegion;
+    // Matches inspections with at least one AI or evaluated detection of this type / severity
+    private String faultType;
+    private Double minSeverity;
+
+}
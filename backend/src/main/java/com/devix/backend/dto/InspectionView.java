@@ -0,0 +1,50 @@
+package com.devix.backend.dto;
+
+import com.devix.backend.model.AiResults;
+import com.devix.backend.model.BaselineImage;
+import com.devix.backend.model.EvalResults;
+import com.devix.backend.model.Inspection;
+import com.devix.backend.model.InspectionImage;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything the comparison and report screens need for one inspection: the rows of
+ * {@code InspectionRepo.findInspectionView} plus the inspection's AI and eval results.
+ */
+@Data
+public class InspectionView {
+
+    private Inspection inspection;
+    private InspectionImage inspectionImage;
+    private BaselineImage baselineImage;
+    private List<AiResults> aiResults = new ArrayList<>();
+    private List<EvalResults> evalResults = new ArrayList<>();
+
+    /**
+     * Folds the (inspection, image, baseline) rows of one inspection into a view and attaches its AI
+     * and eval results, which are loaded separately so the join does not multiply them. When several
+     * thermal images exist the latest upload wins. Returns null when there are no rows.
+     */
+    public static InspectionView fromRows(List<Object[]> rows, List<AiResults> aiResults, List<EvalResults> evalResults) {
+        if (rows.isEmpty()) {
+            return null;
+        }
+        InspectionView view = new InspectionView();
+        for (Object[] row : rows) {
+            view.inspection = (Inspection) row[0];
+            InspectionImage image = (InspectionImage) row[1];
+            if (image != null && (view.inspectionImage == null || image.getId() > view.inspectionImage.getId())) {
+                view.inspectionImage = image;
+            }
+            if (row[2] != null) {
+                view.baselineImage = (BaselineImage) row[2];
+            }
+        }
+        view.aiResults = aiResults;
+        view.evalResults = evalResults;
+        return view;
+    }
+}
@@ -0,0 +1,18 @@
+package com.devix.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageResponseDto<T> {
+
+    private List<T> items;
+    // Pass back as ?cursor= to get the next page; null on the last page
+    private Long nextCursor;
+
+}
@@ -0,0 +1,16 @@
+package com.devix.backend.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ReportExportRequestDto {
+
+    // All filters are optional and combined with AND
+    private String dateFrom; // inclusive, yyyy-MM-dd
+    private String dateTo;   // inclusive, yyyy-MM-dd
+    private String transformerRegion;
+    private List<String> transformerNos;
+
+}
@@ -4,30 +4,38 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.util.List;
 
 @Entity
 @Data
 @NoArgsConstructor
 public class AiResults {
 
+    // Pooled sequence ids keep Hibernate JDBC batching on; IDENTITY forces one INSERT per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ai_results_seq")
+    @SequenceGenerator(name = "ai_results_seq", sequenceName = "ai_results_seq", allocationSize = 50)
     private Long id;
 
     private String inspectionNo;
     private String transformerNo;
     private String anomalyStatus;
     private String faultType;
-    private String faultSeverity;
-    private String faultConfidence;
-    private String XCoordinate;
-    private String YCoordinate;
+    private Double faultSeverity;
+    private Double faultConfidence;
+    private Double XCoordinate;
+    private Double YCoordinate;
 
     // New fields for bbox, area_px, hotspot_x, hotspot_y
-    private String bbox; // Store as JSON string
-    private String areaPx;
-    private String hotspotX;
-    private String hotspotY;
+    @JdbcTypeCode(SqlTypes.JSON)
+    private List<Integer> bbox; // [x, y, w, h] in original image pixels
+    private Integer areaPx;
+    private Double hotspotX;
+    private Double hotspotY;
 }
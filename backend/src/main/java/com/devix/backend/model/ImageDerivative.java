@@ -0,0 +1,26 @@
+package com.devix.backend.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@NoArgsConstructor
+public class ImageDerivative {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Path of the original upload, as stored in InspectionImage / BaselineImage
+    private String sourceUrl;
+    private String variant; // thumbnail, preview or tiles
+    private String derivativeUrl; // file path, or tile directory for the tiles variant
+    private Integer width;
+    private Integer height;
+
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -13,8 +14,10 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class InspectionImage {
 
+    // Pooled sequence ids so bulk ingest inserts are JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inspection_image_seq")
+    @SequenceGenerator(name = "inspection_image_seq", sequenceName = "inspection_image_seq", allocationSize = 50)
     private Long id;
 
     private String inspectionNo;
@@ -0,0 +1,33 @@
+package com.devix.backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@NoArgsConstructor
+public class StoredImage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true, nullable = false, length = 64)
+    private String digest; // hex SHA-256 of the file content
+
+    private String path;
+    private Long sizeBytes;
+    private Integer refCount; // number of image rows pointing at this file
+
+    public StoredImage(String digest, String path, Long sizeBytes, Integer refCount) {
+        this.digest = digest;
+        this.path = path;
+        this.sizeBytes = sizeBytes;
+        this.refCount = refCount;
+    }
+}
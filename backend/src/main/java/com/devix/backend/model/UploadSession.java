@@ -0,0 +1,29 @@
+package com.devix.backend.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// A resumable upload in progress; the bytes received so far are the size of its .part file
+@Entity
+@Data
+@NoArgsConstructor
+public class UploadSession {
+
+    @Id
+    private String id; // random UUID, also the .part file name
+
+    private String fileName;
+    private Long uploadLength;
+    private LocalDateTime createdAt;
+
+    public UploadSession(String id, String fileName, Long uploadLength, LocalDateTime createdAt) {
+        this.id = id;
+        this.fileName = fileName;
+        this.uploadLength = uploadLength;
+        this.createdAt = createdAt;
+    }
+}
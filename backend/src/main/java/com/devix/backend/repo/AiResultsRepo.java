@@ -2,12 +2,22 @@ package com.devix.backend.repo;
 
 import com.devix.backend.model.AiResults;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface AiResultsRepo extends JpaRepository<AiResults, Long> {
 
     AiResults findByInspectionNo(String inspectionNo);
     List<AiResults> findAllByInspectionNo(String inspectionNo);
-    void deleteAllByTransformerNo(String transformerNo);
+    List<AiResults> findAllByInspectionNoOrderByIdAsc(String inspectionNo);
+    List<AiResults> findAllByInspectionNoInOrderByIdAsc(Collection<String> inspectionNos);
+    // Single DELETE statement; rows are matched by transformer or through their inspection
+    @Modifying
+    @Query("DELETE FROM AiResults x WHERE x.transformerNo = :transformerNo " +
+            "OR x.inspectionNo IN (SELECT i.inspectionNo FROM Inspection i WHERE i.transformerNo = :transformerNo)")
+    int deleteAllByTransformerNo(@Param("transformerNo") String transformerNo);
 }
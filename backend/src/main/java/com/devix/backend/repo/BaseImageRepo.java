@@ -2,8 +2,19 @@ package com.devix.backend.repo;
 
 import com.devix.backend.model.BaselineImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface BaseImageRepo extends JpaRepository<BaselineImage, Long>{
     BaselineImage findByTransformerNo(String transformerNo);
-    void deleteByTransformerNo(String transformerNo);
+    @Modifying
+    @Query("DELETE FROM BaselineImage b WHERE b.transformerNo = :transformerNo")
+    int deleteByTransformerNo(@Param("transformerNo") String transformerNo);
+
+    @Query("SELECT b FROM BaselineImage b WHERE b.sunnyImageUrl IN :paths OR b.cloudyImageUrl IN :paths OR b.rainyImageUrl IN :paths")
+    List<BaselineImage> findAllReferencing(@Param("paths") Collection<String> paths);
 }
@@ -3,12 +3,22 @@ package com.devix.backend.repo;
 import com.devix.backend.model.EvalResults;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface EvalResultsRepo extends JpaRepository<EvalResults, Long> {
 
     EvalResults findByInspectionNo(String inspectionNo);
     List<EvalResults> findAllByInspectionNo(String inspectionNo);
-    void deleteAllByTransformerNo(String transformerNo);
+    List<EvalResults> findAllByInspectionNoOrderByIdAsc(String inspectionNo);
+    List<EvalResults> findAllByInspectionNoInOrderByIdAsc(Collection<String> inspectionNos);
+    // Single DELETE statement; rows are matched by transformer or through their inspection
+    @Modifying
+    @Query("DELETE FROM EvalResults x WHERE x.transformerNo = :transformerNo " +
+            "OR x.inspectionNo IN (SELECT i.inspectionNo FROM Inspection i WHERE i.transformerNo = :transformerNo)")
+    int deleteAllByTransformerNo(@Param("transformerNo") String transformerNo);
 }
@@ -0,0 +1,11 @@
+package com.devix.backend.repo;
+
+import com.devix.backend.model.ImageDerivative;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ImageDerivativeRepo extends JpaRepository<ImageDerivative, Long> {
+    ImageDerivative findBySourceUrlAndVariant(String sourceUrl, String variant);
+    List<ImageDerivative> findAllBySourceUrl(String sourceUrl);
+}
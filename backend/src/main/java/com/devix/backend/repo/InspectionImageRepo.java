@@ -2,11 +2,30 @@ package com.devix.backend.repo;
 
 import com.devix.backend.model.InspectionImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface InspectionImageRepo extends JpaRepository<InspectionImage, Long> {
     InspectionImage findByInspectionNo(String inspectionNo);
+    // Latest image, also when older releases left several rows for one inspection
+    InspectionImage findFirstByInspectionNoOrderByIdDesc(String inspectionNo);
+    List<InspectionImage> findAllByInspectionNoInOrderByIdAsc(Collection<String> inspectionNos);
     List<InspectionImage> findByTransformerNo(String transformerNo);
-    void deleteAllByTransformerNo(String transformerNo);
+
+    // Paths only, so deleting a transformer does not load its image entities
+    @Query("SELECT x.thermalImageUrl FROM InspectionImage x WHERE x.transformerNo = :transformerNo " +
+            "OR x.inspectionNo IN (SELECT i.inspectionNo FROM Inspection i WHERE i.transformerNo = :transformerNo)")
+    List<String> findThermalImageUrlsByTransformerNo(@Param("transformerNo") String transformerNo);
+
+    @Query("SELECT DISTINCT x.thermalImageUrl FROM InspectionImage x WHERE x.thermalImageUrl IN :paths")
+    List<String> findReferencedThermalImageUrls(@Param("paths") Collection<String> paths);
+
+    @Modifying
+    @Query("DELETE FROM InspectionImage x WHERE x.transformerNo = :transformerNo " +
+            "OR x.inspectionNo IN (SELECT i.inspectionNo FROM Inspection i WHERE i.transformerNo = :transformerNo)")
+    int deleteAllByTransformerNo(@Param("transformerNo") String transformerNo);
 }
@@ -1,21 +1,92 @@
 package com.devix.backend.repo;
 
 import com.devix.backend.model.Inspection;
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface InspectionRepo extends JpaRepository<Inspection, Long> {
+public interface InspectionRepo extends JpaRepository<Inspection, Long>, JpaSpecificationExecutor<Inspection> {
 
-    @Query("SELECT MAX(CAST(i.inspectionNo AS int)) FROM Inspection i")
-    Integer findMaxInspectionNo();
+    // Start of the next block of inspection numbers, see InspectionNoGenerator
+    @Query(value = "SELECT nextval('inspection_no_seq')", nativeQuery = true)
+    Long nextInspectionNoBlock();
+
+    // Moves the sequence past inspection numbers inserted explicitly (seed data)
+    @Query(value = "SELECT setval('inspection_no_seq', COALESCE((SELECT MAX(CAST(inspection_no AS int)) FROM inspection " +
+            "WHERE inspection_no ~ '^[0-9]+$'), 0) + 1, false)", nativeQuery = true)
+    Long syncInspectionNoSequence();
 
     Inspection findByInspectionNo(String inspectionNo);
     List<Inspection> findAllByInspectionStatus(String status);
+    List<Inspection> findAllByInspectionStatusIn(Collection<String> statuses);
     List<Inspection> findByTransformerNo(String transformerNo);
-    void deleteAllByTransformerNo(String transformerNo);
+    List<Inspection> findAllByInspectionNoIn(Collection<String> inspectionNos);
+
+    @Modifying
+    @Query("UPDATE Inspection i SET i.inspectionStatus = :status WHERE i.inspectionNo IN :inspectionNos")
+    int updateStatusByInspectionNos(@Param("inspectionNos") Collection<String> inspectionNos, @Param("status") String status);
+
+    // Leaves inspections whose status moved on in the meantime (e.g. results saved) untouched
+    @Transactional
+    @Modifying
+    @Query("UPDATE Inspection i SET i.inspectionStatus = :status WHERE i.inspectionNo IN :inspectionNos AND i.inspectionStatus IN :fromStatuses")
+    int updateStatusByInspectionNosAndStatusIn(@Param("inspectionNos") Collection<String> inspectionNos, @Param("status") String status,
+                                               @Param("fromStatuses") Collection<String> fromStatuses);
+    @Modifying
+    @Query("DELETE FROM Inspection i WHERE i.transformerNo = :transformerNo")
+    int deleteAllByTransformerNo(@Param("transformerNo") String transformerNo);
     Inspection findTopByTransformerNoOrderByInspectionDateDescInspectionTimeDesc(String transformerNo);
+
+    // Keyset pages for the listing endpoints
+    List<Inspection> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    List<Inspection> findByTransformerNoAndIdGreaterThanOrderByIdAsc(String transformerNo, Long id, Limit limit);
+
+    // Read model for the comparison / report screens: inspection, image and baseline in one round trip.
+    // AI and eval results are loaded by inspection number on their own so the join does not multiply them.
+    @Query("SELECT i, ii, b FROM Inspection i " +
+            "LEFT JOIN InspectionImage ii ON ii.inspectionNo = i.inspectionNo " +
+            "LEFT JOIN BaselineImage b ON b.transformerNo = i.transformerNo " +
+            "WHERE i.inspectionNo = :inspectionNo")
+    List<Object[]> findInspectionView(@Param("inspectionNo") String inspectionNo);
+
+    // Latest evaluation date, image id and upload date/time, inspection date/time; latest image first
+    @Query("SELECT (SELECT MAX(e.evaluatedDate) FROM EvalResults e WHERE e.inspectionNo = i.inspectionNo), " +
+            "ii.id, ii.uploadedDate, ii.uploadedTime, i.inspectionDate, i.inspectionTime FROM Inspection i " +
+            "LEFT JOIN InspectionImage ii ON ii.inspectionNo = i.inspectionNo " +
+            "WHERE i.inspectionNo = :inspectionNo ORDER BY ii.id DESC")
+    List<Object[]> findLastUpdated(@Param("inspectionNo") String inspectionNo);
+
+    // Inspection, image and baseline rows of every matching inspection, ordered so each inspection's rows
+    // are contiguous; AI and eval results are loaded per chunk of inspection numbers by the caller.
+    // Must be consumed inside a transaction; rows are fetched from the cursor in chunks.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i, ii, b FROM Inspection i " +
+            "LEFT JOIN InspectionImage ii ON ii.inspectionNo = i.inspectionNo " +
+            "LEFT JOIN BaselineImage b ON b.transformerNo = i.transformerNo " +
+            "WHERE (:dateFrom IS NULL OR i.inspectionDate >= :dateFrom) " +
+            "AND (:dateTo IS NULL OR i.inspectionDate <= :dateTo) " +
+            "AND (:region IS NULL OR EXISTS (SELECT t.id FROM Transformer t " +
+            "     WHERE t.transformerNo = i.transformerNo AND t.transformerRegion = :region)) " +
+            "AND (:allTransformers = TRUE OR i.transformerNo IN :transformerNos) " +
+            "ORDER BY i.id")
+    Stream<Object[]> streamInspectionViews(@Param("dateFrom") String dateFrom, @Param("dateTo") String dateTo,
+                                           @Param("region") String region,
+                                           @Param("allTransformers") boolean allTransformers,
+                                           @Param("transformerNos") Collection<String> transformerNos);
 }
@@ -0,0 +1,84 @@
+package com.devix.backend.repo;
+
+import com.devix.backend.dto.InspectionSearchDto;
+import com.devix.backend.model.AiResults;
+import com.devix.backend.model.EvalResults;
+import com.devix.backend.model.Inspection;
+import com.devix.backend.model.Transformer;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dynamic filters for the inspection search. Only the filters that are set end up in the WHERE
+ * clause; region and fault filters are correlated EXISTS subqueries so no joined rows are duplicated.
+ */
+public final class InspectionSpecifications {
+
+    private InspectionSpecifications() {
+    }
+
+    public static Specification<Inspection> matching(InspectionSearchDto search) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (hasText(search.getInspectionStatus())) {
+                predicates.add(cb.equal(root.get("inspectionStatus"), search.getInspectionStatus()));
+            }
+            // Dates are stored as ISO yyyy-MM-dd strings, so string order is date order
+            if (hasText(search.getDateFrom())) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("inspectionDate"), search.getDateFrom()));
+            }
+            if (hasText(search.getDateTo())) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("inspectionDate"), search.getDateTo()));
+            }
+            if (hasText(search.getInspectionBranch())) {
+                predicates.add(cb.equal(root.get("inspectionBranch"), search.getInspectionBranch()));
+            }
+            if (hasText(search.getTransformerRegion())) {
+                Subquery<Long> transformer = query.subquery(Long.class);
+                Root<Transformer> t = transformer.from(Transformer.class);
+                transformer.select(t.get("id")).where(
+                        cb.equal(t.get("transformerNo"), root.get("transformerNo")),
+                        cb.equal(t.get("transformerRegion"), search.getTransformerRegion()));
+                predicates.add(cb.exists(transformer));
+            }
+            if (hasText(search.getFaultType()) || search.getMinSeverity() != null) {
+                predicates.add(cb.or(
+                        cb.exists(faultSubquery(AiResults.class, root, query, cb, search)),
+                        cb.exists(faultSubquery(EvalResults.class, root, query, cb, search))));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<Inspection> idGreaterThan(Long id) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+    }
+
+    private static <R> Subquery<Long> faultSubquery(Class<R> resultType, Root<Inspection> root,
+                                                   CriteriaQuery<?> query,
+                                                   CriteriaBuilder cb, InspectionSearchDto search) {
+        Subquery<Long> subquery = query.subquery(Long.class);
+        Root<R> r = subquery.from(resultType);
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(r.get("inspectionNo"), root.get("inspectionNo")));
+        if (hasText(search.getFaultType())) {
+            predicates.add(cb.equal(r.get("faultType"), search.getFaultType()));
+        }
+        if (search.getMinSeverity() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(r.get("faultSeverity"), search.getMinSeverity()));
+        }
+        subquery.select(r.get("id")).where(predicates.toArray(new Predicate[0]));
+        return subquery;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
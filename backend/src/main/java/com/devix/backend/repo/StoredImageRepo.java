@@ -0,0 +1,35 @@
+package com.devix.backend.repo;
+
+import com.devix.backend.model.StoredImage;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface StoredImageRepo extends JpaRepository<StoredImage, Long> {
+
+    StoredImage findByDigest(String digest);
+    StoredImage findByPath(String path);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredImage s SET s.refCount = s.refCount + 1 WHERE s.digest = :digest")
+    int incrementRefCount(@Param("digest") String digest);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredImage s SET s.refCount = s.refCount - 1 WHERE s.path = :path AND s.refCount > 0")
+    int decrementRefCount(@Param("path") String path);
+
+    List<StoredImage> findAllByPathIn(Collection<String> paths);
+
+    // Removes the row only while nothing references it, so a concurrent attach wins over the collector
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM StoredImage s WHERE s.path = :path AND s.refCount = 0")
+    int deleteUnreferencedByPath(@Param("path") String path);
+}
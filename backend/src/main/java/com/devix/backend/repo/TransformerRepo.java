@@ -1,12 +1,25 @@
 package com.devix.backend.repo;
 
 import com.devix.backend.model.Transformer;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface TransformerRepo extends JpaRepository<Transformer, Long> {
 
     //getTransformer by transformerNo
     Transformer findByTransformerNo(String transformerNo);
+
+    @Modifying
+    @Query("DELETE FROM Transformer t WHERE t.transformerNo = :transformerNo")
+    int deleteByTransformerNo(@Param("transformerNo") String transformerNo);
+
+    // Keyset pages for the listing endpoint
+    List<Transformer> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
@@ -0,0 +1,12 @@
+package com.devix.backend.repo;
+
+import com.devix.backend.model.UploadSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface UploadSessionRepo extends JpaRepository<UploadSession, String> {
+
+    List<UploadSession> findAllByCreatedAtBefore(LocalDateTime cutoff);
+}
@@ -6,13 +6,35 @@ import com.devix.backend.model.InspectionImage;
 import com.devix.backend.repo.AiResultsRepo;
 import com.devix.backend.repo.InspectionImageRepo;
 import com.devix.backend.repo.InspectionRepo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -20,29 +42,166 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 @Slf4j
 public class AiService {
 
-    private final WebClient webClient = WebClient.create("http://localhost:5001");
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    // Set instead of the AI results when the AI server could not be reached; the sweep retries these
+    static final String AI_UNAVAILABLE = "ai_unavailable";
+    private static final Set<String> AWAITING_ANALYSIS = Set.of("pending", AI_UNAVAILABLE);
+
+    private final WebClient webClient;
 
     private final InspectionImageRepo inspectionImageRepo;
     private final InspectionRepo inspectionRepo;
     private final AiResultsRepo aiResultsRepo;
+    private final Scheduler analysisScheduler;
+    private final int maxConcurrency;
+    private final Duration predictTimeout;
+    private final boolean batchEnabled;
+    private final int batchMaxSize;
+    private final Duration batchWindow;
+    private final MeterRegistry meterRegistry;
+    private final Timer timeToAnalysis;
+    private final Bulkhead aiServerBulkhead;
+    private final CircuitBreaker aiServerCircuitBreaker;
+    private final RetryPolicy aiServerRetryPolicy;
+
+    private final Sinks.Many<String> analysisSink = Sinks.many().unicast().onBackpressureBuffer();
+
+    // Inspections queued or being analysed, so the sweep does not enqueue them twice, with their System.nanoTime() at queueing
+    private final Map<String, Long> queuedInspections = new ConcurrentHashMap<>();
 
     public AiService(InspectionRepo inspectionRepo, InspectionImageRepo inspectionImageRepo,
-            AiResultsRepo aiResultsRepo) {
+            AiResultsRepo aiResultsRepo, @Qualifier("aiAnalysisExecutor") ThreadPoolTaskExecutor analysisExecutor,
+            MeterRegistry meterRegistry, @Qualifier("aiServerBulkhead") Bulkhead aiServerBulkhead,
+            @Qualifier("aiServerCircuitBreaker") CircuitBreaker aiServerCircuitBreaker,
+            @Qualifier("aiServerRetryPolicy") RetryPolicy aiServerRetryPolicy,
+            @Qualifier("aiServerWebClient") WebClient webClient,
+            @Value("${ai.analysis.max-concurrency:4}") int maxConcurrency,
+            @Value("${ai.predict.timeout-ms:60000}") long predictTimeoutMs,
+            @Value("${ai.predict.batch.enabled:false}") boolean batchEnabled,
+            @Value("${ai.predict.batch.max-size:16}") int batchMaxSize,
+            @Value("${ai.predict.batch.window-ms:200}") long batchWindowMs) {
         this.inspectionImageRepo = inspectionImageRepo;
         this.inspectionRepo = inspectionRepo;
         this.aiResultsRepo = aiResultsRepo;
+        this.analysisScheduler = Schedulers.fromExecutor(analysisExecutor);
+        this.maxConcurrency = maxConcurrency;
+        this.predictTimeout = Duration.ofMillis(predictTimeoutMs);
+        this.webClient = webClient;
+        this.batchEnabled = batchEnabled;
+        this.batchMaxSize = batchMaxSize;
+        this.batchWindow = Duration.ofMillis(batchWindowMs);
+        this.meterRegistry = meterRegistry;
+        this.aiServerBulkhead = aiServerBulkhead;
+        this.aiServerCircuitBreaker = aiServerCircuitBreaker;
+        this.aiServerRetryPolicy = aiServerRetryPolicy;
+        this.timeToAnalysis = Timer.builder("ai.analysis.time")
+                .description("Time from queueing an inspection to its AI results being saved")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("ai.analysis.backlog", queuedInspections, Map::size)
+                .description("Inspections queued or being analysed")
+                .register(meterRegistry);
     }
 
-    public List<Map<String, Object>> getPrediction(String imageUrl) {
-        String response = webClient.post()
+    public Mono<List<Map<String, Object>>> getPrediction(String imageUrl) {
+        return resilient("predict", true, webClient.post()
                 .uri("/predict")
                 .bodyValue(Map.of("imageUrl", imageUrl))
                 .retrieve()
                 .bodyToMono(String.class)
-                .block();
+                .timeout(predictTimeout)
+                .map(this::parsePrediction));
+    }
+
+    /**
+     * Sends several images in one /predict_batch round trip. Images the AI server could not
+     * process are left out of the returned map, keyed by image URL.
+     */
+    public Mono<Map<String, List<Map<String, Object>>>> getBatchPrediction(List<String> imageUrls) {
+        return resilient("predict_batch", true, webClient.post()
+                .uri("/predict_batch")
+                .bodyValue(Map.of("imageUrls", imageUrls))
+                .retrieve()
+                .bodyToMono(String.class)
+                .timeout(predictTimeout)
+                .map(this::parseBatchPrediction));
+    }
+
+    // Fails fast while the circuit is open. Otherwise each attempt holds a bulkhead permit, and idempotent
+    // calls retry server failures within the retry budget; the outcome after retries feeds the circuit
+    private <T> Mono<T> resilient(String endpoint, boolean idempotent, Mono<T> call) {
+        return Mono.defer(() -> {
+            if (!aiServerCircuitBreaker.tryAcquire()) {
+                return Mono.error(new CircuitBreaker.CircuitOpenException("AI server unavailable, not calling " + endpoint));
+            }
+            aiServerRetryPolicy.recordAttempt();
+            Mono<T> attempt = guarded(timed(endpoint, call));
+            return (idempotent ? attempt.retryWhen(aiServerRetryPolicy.retrySpec(AiService::isServerFailure)) : attempt)
+                    .doOnSuccess(result -> aiServerCircuitBreaker.onSuccess())
+                    .doOnError(e -> {
+                        if (isServerFailure(e)) {
+                            aiServerCircuitBreaker.onFailure();
+                        } else {
+                            aiServerCircuitBreaker.onIgnored();
+                        }
+                    })
+                    .doOnCancel(aiServerCircuitBreaker::onIgnored);
+        });
+    }
+
+    // 5xx answers, connection failures and timeouts; 4xx and unparseable answers mean the server is up
+    static boolean isServerFailure(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError();
+        }
+        return e instanceof WebClientRequestException || e instanceof TimeoutException;
+    }
+
+    private static boolean isAiUnavailable(Throwable e) {
+        return e instanceof CircuitBreaker.CircuitOpenException || isServerFailure(e);
+    }
+
+    // Holds an AI server bulkhead permit from subscription until the call completes, fails or is cancelled.
+    // Waiting for the permit blocks, so these calls are subscribed from request or analysis worker threads
+    private <T> Mono<T> guarded(Mono<T> call) {
+        return Mono.using(aiServerBulkhead::acquire, permit -> call, Bulkhead.Permit::close);
+    }
+
+    // Times an AI server call from subscription until it completes, fails or is cancelled
+    private <T> Mono<T> timed(String endpoint, Mono<T> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return call.doFinally(signal -> sample.stop(Timer.builder("ai.server.requests")
+                    .description("AI server round trips")
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", signal == SignalType.ON_COMPLETE ? "success" : signal == SignalType.CANCEL ? "cancelled" : "error")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)));
+        });
+    }
+
+    public Map<String, List<Map<String, Object>>> parseBatchPrediction(String response) {
+        try {
+            BatchPredictionResponse batch = OBJECT_MAPPER.readValue(response, BatchPredictionResponse.class);
+            Map<String, List<Map<String, Object>>> predictions = new HashMap<>();
+            for (BatchPredictionResult result : batch.results()) {
+                if (result.error() != null) {
+                    log.error("AI server failed on image {}: {}", result.imageUrl(), result.error());
+                } else {
+                    predictions.put(result.imageUrl(), result.predictions() != null ? result.predictions() : List.of());
+                }
+            }
+            return predictions;
+        } catch (Exception e) {
+            log.error("Failed to parse AI batch prediction response: {}", e.getMessage());
+            throw new RuntimeException("Failed to parse AI batch prediction response: " + e.getMessage());
+        }
+    }
+
+    public List<Map<String, Object>> parsePrediction(String response) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            return objectMapper.readValue(response, new TypeReference<List<Map<String, Object>>>() {
+            return OBJECT_MAPPER.readValue(response, new TypeReference<List<Map<String, Object>>>() {
             });
         } catch (Exception e) {
             log.error("Failed to parse AI prediction response: {}", e.getMessage());
@@ -59,11 +218,12 @@ public class AiService {
                 "edits", request.get("edits")
             );
 
-            String response = webClient.post()
+            // Not retried: the server may have applied the edits before the failure
+            String response = resilient("update_thresholds", false, webClient.post()
                     .uri("/update_thresholds")
                     .bodyValue(requestBody)
                     .retrieve()
-                    .bodyToMono(String.class)
+                    .bodyToMono(String.class))
                     .block();
 
             try {
@@ -83,79 +243,181 @@ public class AiService {
 
     
 
-    @Scheduled(fixedRate = 1000 * 60 * 2) // every 2 minutes
+    // Runs the analysis pipeline: up to maxConcurrency predictions in flight, each handled on its own
+    // In batch mode, inspections queued within batchWindow (up to batchMaxSize) share one round trip
+    @PostConstruct
+    void startDispatcher() {
+        if (batchEnabled) {
+            analysisSink.asFlux()
+                    .bufferTimeout(batchMaxSize, batchWindow)
+                    .flatMap(this::analyzeBatch, maxConcurrency)
+                    .subscribe();
+        } else {
+            analysisSink.asFlux()
+                    .flatMap(this::analyzeInspection, maxConcurrency)
+                    .subscribe();
+        }
+    }
+
+    /**
+     * Queues an inspection for analysis. Called right after a thermal image upload so inference
+     * starts immediately instead of waiting for the next sweep.
+     */
+    public void enqueueAnalysis(String inspectionNo) {
+        if (inspectionNo == null || queuedInspections.putIfAbsent(inspectionNo, System.nanoTime()) != null) {
+            return;
+        }
+        Sinks.EmitResult result;
+        synchronized (analysisSink) {
+            result = analysisSink.tryEmitNext(inspectionNo);
+        }
+        if (result.isFailure()) {
+            queuedInspections.remove(inspectionNo);
+            log.warn("Could not queue AI analysis for inspection {} ({}), the next sweep will retry", inspectionNo, result);
+        }
+    }
+
+    // Sweep for jobs that were missed, e.g. queued before a restart, and for ai_unavailable inspections
+    // once the circuit lets calls through again
+    @Scheduled(fixedRateString = "${ai.analysis.sweep-interval-ms:120000}")
     public void analysis() {
         try {
-            List<Inspection> inspections = inspectionRepo.findAllByInspectionStatus("pending");
+            List<Inspection> inspections = aiServerCircuitBreaker.isCallPermitted()
+                    ? inspectionRepo.findAllByInspectionStatusIn(AWAITING_ANALYSIS)
+                    : inspectionRepo.findAllByInspectionStatus("pending");
             for (Inspection inspection : inspections) {
-                InspectionImage image = inspectionImageRepo.findByInspectionNo(inspection.getInspectionNo());
-                String imageUrl = image != null ? image.getThermalImageUrl() : null;
-
-                if (imageUrl != null) {
-                    List<Map<String, Object>> prediction = getPrediction(imageUrl);
-
-                    if (prediction == null) {
-                        continue;
-                    }
-                    if (prediction.isEmpty()) {
-                        AiResults aiResults = new AiResults();
-                        aiResults.setInspectionNo(inspection.getInspectionNo());
-                        aiResults.setTransformerNo(inspection.getTransformerNo());
-                        aiResults.setAnomalyStatus("no_anomaly");
-                        aiResultsRepo.save(aiResults);
-                    } else {
-                        for (Map<String, Object> result : prediction) {
-                            AiResults aiResults = new AiResults();
-
-                            aiResults.setInspectionNo(inspection.getInspectionNo());
-                            aiResults.setTransformerNo(inspection.getTransformerNo());
-                            aiResults.setFaultType((String) result.get("fault_type"));
-                            aiResults.setFaultSeverity(
-                                    result.get("severity") != null ? result.get("severity").toString() : null);
-                            aiResults.setFaultConfidence(
-                                    result.get("confidence") != null ? result.get("confidence").toString() : null);
-                            aiResults.setXCoordinate(
-                                    result.get("x_coordinate") != null ? result.get("x_coordinate").toString() : null);
-                            aiResults.setYCoordinate(
-                                    result.get("y_coordinate") != null ? result.get("y_coordinate").toString() : null);
-
-                            // Store bbox as JSON string if present
-                            Object bboxObj = result.get("bbox");
-                            if (bboxObj != null) {
+                enqueueAnalysis(inspection.getInspectionNo());
+            }
+        } catch (Exception e) {
+            log.error("Error during AI analysis sweep: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Analyses one inspection without blocking: repository work runs on the analysis worker pool and
+     * the prediction call on the WebClient event loop. When the AI server cannot be reached the
+     * inspection is marked ai_unavailable for the sweep to retry. Errors are logged and swallowed so
+     * one failing inspection never stops the others.
+     */
+    public Mono<Void> analyzeInspection(String inspectionNo) {
+        // fromCallable completes empty when there is nothing to analyse
+        return Mono.fromCallable(() -> loadPendingInspection(inspectionNo))
+                .subscribeOn(analysisScheduler)
+                .flatMap(pending -> getPrediction(pending.imageUrl())
+                        .publishOn(analysisScheduler)
+                        .doOnNext(prediction -> saveResults(pending.inspection(), prediction))
+                        .onErrorResume(AiService::isAiUnavailable, e -> markAiUnavailable(List.of(pending), e)))
+                .then()
+                .onErrorResume(e -> {
+                    log.error("Error during AI analysis of inspection {}: {}", inspectionNo, e.getMessage());
+                    return Mono.empty();
+                })
+                .doFinally(signal -> queuedInspections.remove(inspectionNo));
+    }
+
+    /**
+     * Analyses a batch of inspections with a single /predict_batch call and saves each image's
+     * predictions to its own inspection. Images missing from the response stay pending for the sweep.
+     */
+    public Mono<Void> analyzeBatch(List<String> inspectionNos) {
+        return Mono.fromCallable(() -> inspectionNos.stream()
+                        .map(this::loadPendingInspection)
+                        .filter(Objects::nonNull)
+                        .toList())
+                .subscribeOn(analysisScheduler)
+                .filter(pending -> !pending.isEmpty())
+                .flatMap(pending -> getBatchPrediction(pending.stream().map(PendingAnalysis::imageUrl).distinct().toList())
+                        .publishOn(analysisScheduler)
+                        .doOnNext(predictions -> {
+                            for (PendingAnalysis analysis : pending) {
+                                List<Map<String, Object>> prediction = predictions.get(analysis.imageUrl());
+                                if (prediction == null) {
+                                    continue;
+                                }
                                 try {
-                                    ObjectMapper mapper = new ObjectMapper();
-                                    aiResults.setBbox(mapper.writeValueAsString(bboxObj));
+                                    saveResults(analysis.inspection(), prediction);
                                 } catch (Exception e) {
-                                    aiResults.setBbox(null);
+                                    log.error("Error saving AI results for inspection {}: {}",
+                                            analysis.inspection().getInspectionNo(), e.getMessage());
                                 }
-                            } else {
-                                aiResults.setBbox(null);
                             }
+                        })
+                        .onErrorResume(AiService::isAiUnavailable, e -> markAiUnavailable(pending, e)))
+                .then()
+                .onErrorResume(e -> {
+                    log.error("Error during AI batch analysis of inspections {}: {}", inspectionNos, e.getMessage());
+                    return Mono.empty();
+                })
+                .doFinally(signal -> inspectionNos.forEach(queuedInspections::remove));
+    }
 
-                            aiResults
-                                    .setAreaPx(result.get("area_px") != null ? result.get("area_px").toString() : null);
-                            aiResults.setHotspotX(
-                                    result.get("hotspot_x") != null ? result.get("hotspot_x").toString() : null);
-                            aiResults.setHotspotY(
-                                    result.get("hotspot_y") != null ? result.get("hotspot_y").toString() : null);
-
-                            aiResultsRepo.save(aiResults);
-                        }
+    private PendingAnalysis loadPendingInspection(String inspectionNo) {
+        Inspection inspection = inspectionRepo.findByInspectionNo(inspectionNo);
+        if (inspection == null || !AWAITING_ANALYSIS.contains(inspection.getInspectionStatus())) {
+            return null;
+        }
+        InspectionImage image = inspectionImageRepo.findFirstByInspectionNoOrderByIdDesc(inspectionNo);
+        String imageUrl = image != null ? image.getThermalImageUrl() : null;
+        return imageUrl != null ? new PendingAnalysis(inspection, imageUrl) : null;
+    }
 
-                    }
-                    // Save the AI results to the database (not implemented here)
+    private void saveResults(Inspection inspection, List<Map<String, Object>> prediction) {
+        if (prediction.isEmpty()) {
+            AiResults aiResults = new AiResults();
+            aiResults.setInspectionNo(inspection.getInspectionNo());
+            aiResults.setTransformerNo(inspection.getTransformerNo());
+            aiResults.setAnomalyStatus("no_anomaly");
+            aiResultsRepo.save(aiResults);
+        } else {
+            List<AiResults> detections = new ArrayList<>(prediction.size());
+            for (Map<String, Object> result : prediction) {
+                AiResults aiResults = new AiResults();
 
-                    inspection.setInspectionStatus("in_progress");
-                    inspectionRepo.save(inspection);
+                aiResults.setInspectionNo(inspection.getInspectionNo());
+                aiResults.setTransformerNo(inspection.getTransformerNo());
+                aiResults.setFaultType((String) result.get("fault_type"));
+                aiResults.setFaultSeverity(ResultValues.toDouble(result.get("severity")));
+                aiResults.setFaultConfidence(ResultValues.toDouble(result.get("confidence")));
+                aiResults.setXCoordinate(ResultValues.toDouble(result.get("x_coordinate")));
+                aiResults.setYCoordinate(ResultValues.toDouble(result.get("y_coordinate")));
+                aiResults.setBbox(ResultValues.toBbox(result.get("bbox")));
+                aiResults.setAreaPx(ResultValues.toInteger(result.get("area_px")));
+                aiResults.setHotspotX(ResultValues.toDouble(result.get("hotspot_x")));
+                aiResults.setHotspotY(ResultValues.toDouble(result.get("hotspot_y")));
 
-                }
+                detections.add(aiResults);
             }
-        } catch (Exception e) {
-            log.error("Error during AI analysis: {}", e.getMessage());
-            throw new RuntimeException("Error during AI analysis: " + e.getMessage());
+            aiResultsRepo.saveAll(detections);
+        }
+
+        inspection.setInspectionStatus("in_progress");
+        inspectionRepo.save(inspection);
+
+        // Inspections picked up by the sweep after a restart are measured from the sweep
+        Long queuedAt = queuedInspections.get(inspection.getInspectionNo());
+        if (queuedAt != null) {
+            timeToAnalysis.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
         }
     }
 
+    // Runs on the analysis scheduler (after publishOn); completes empty so the pipeline carries on
+    private <T> Mono<T> markAiUnavailable(List<PendingAnalysis> pending, Throwable e) {
+        return Mono.fromRunnable(() -> {
+            List<String> inspectionNos = pending.stream().map(analysis -> analysis.inspection().getInspectionNo()).toList();
+            log.warn("AI server unavailable for inspections {}, will retry later: {}", inspectionNos, e.getMessage());
+            inspectionRepo.updateStatusByInspectionNosAndStatusIn(inspectionNos, AI_UNAVAILABLE, AWAITING_ANALYSIS);
+        });
+    }
+
+    private record PendingAnalysis(Inspection inspection, String imageUrl) {
+    }
+
+    private record BatchPredictionResponse(List<BatchPredictionResult> results) {
+    }
+
+    private record BatchPredictionResult(String imageUrl, List<Map<String, Object>> predictions, String error) {
+    }
+
     // public static void main(String[] args){
     // AiService aiService = new AiService();
     // String prediction = aiService.getPrediction(List.of(0.5, 1.2, 3.4, 2.1));
@@ -6,8 +6,10 @@ import java.util.Map;
 
 public interface BaselineImageService {
 
-    void addBaseImage(String transformerNo, MultipartFile baseImageSunny, MultipartFile baseImageCloudy, MultipartFile baseImageRainy, String uploadedBy, String uploadedDate, String uploadedTime ) throws Exception;
+    void addBaseImage(String transformerNo, MultipartFile baseImageSunny, MultipartFile baseImageCloudy, MultipartFile baseImageRainy, String sunnyImageHash, String cloudyImageHash, String rainyImageHash, String uploadedBy, String uploadedDate, String uploadedTime ) throws Exception;
     Map<String, Object> getBaseImage(String transformerNo) throws Exception;
     void deleteBaseImage(String transformerNo) throws Exception;
+    String getBaseImagePath(Long imageId, String condition, String size) throws Exception;
+    String getBaseTilePath(Long imageId, String condition, int level, int x, int y) throws Exception;
     
 }
@@ -0,0 +1,17 @@
+package com.devix.backend.service;
+
+import com.devix.backend.dto.BulkIngestResultDto;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+public interface BulkIngestService {
+
+    // manifest is a JSON array of BulkIngestManifestEntryDto matching files by their original file name
+    List<BulkIngestResultDto> ingestFiles(List<MultipartFile> files, String manifest, String uploadedBy,
+                                          String uploadedDate, String uploadedTime) throws Exception;
+
+    // The archive carries its manifest as manifest.json at the root
+    List<BulkIngestResultDto> ingestArchive(MultipartFile archive, String uploadedBy, String uploadedDate,
+                                            String uploadedTime) throws Exception;
+}
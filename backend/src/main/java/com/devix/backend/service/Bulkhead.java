@@ -0,0 +1,95 @@
+package com.devix.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of concurrent calls to one downstream (AI server, image store). Callers beyond
+ * the limit queue for up to {@code maxWait} and are then rejected, so a slow downstream ties up at
+ * most {@code maxConcurrentCalls} threads instead of the whole request pool.
+ *
+ * <pre>{@code
+ * try (Bulkhead.Permit permit = bulkhead.acquire()) {
+ *     // call the downstream
+ * }
+ * }</pre>
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrentCalls;
+    private final Duration maxWait;
+    private final Semaphore permits;
+    private final Counter rejected;
+
+    public Bulkhead(String name, int maxConcurrentCalls, Duration maxWait, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWait = maxWait;
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+        Gauge.builder("bulkhead.active", permits, p -> maxConcurrentCalls - p.availablePermits())
+                .description("Calls currently holding a bulkhead permit")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.queued", permits, Semaphore::getQueueLength)
+                .description("Callers waiting for a bulkhead permit")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("bulkhead.rejected")
+                .description("Calls rejected after waiting maxWait for a bulkhead permit")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Waits up to {@code maxWait} for a free slot. The returned permit must be closed exactly once.
+     *
+     * @throws BulkheadFullException when no slot frees up in time or the caller is interrupted
+     */
+    public Permit acquire() {
+        try {
+            if (permits.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                return new Permit();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        throw new BulkheadFullException("Too many concurrent " + name + " calls (limit " + maxConcurrentCalls
+                + "), try again later");
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public final class Permit implements AutoCloseable {
+        private boolean released;
+
+        private Permit() {
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                permits.release();
+            }
+        }
+    }
+
+    public static class BulkheadFullException extends RuntimeException {
+        public BulkheadFullException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.devix.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+
+/**
+ * Stops calling a downstream that keeps failing. After {@code failureThreshold} consecutive failures
+ * the circuit opens and calls fail fast for {@code openDuration}; then a single probe call is let
+ * through (half-open), which closes the circuit on success and opens it again on failure.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final Counter notPermitted;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        Gauge.builder("circuit.breaker.state", this, breaker -> breaker.getState().ordinal())
+                .description("0 closed, 1 open, 2 half-open")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.notPermitted = Counter.builder("circuit.breaker.not.permitted")
+                .description("Calls failed fast because the circuit was open")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether a call may go ahead. Once the open period is over the first caller becomes the
+     * half-open probe; everyone else keeps failing fast until the probe reports back.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.OPEN && openPeriodOver()) {
+            state = State.HALF_OPEN;
+            log.info("Circuit {} half-open, probing", name);
+            return true;
+        }
+        notPermitted.increment();
+        return false;
+    }
+
+    /**
+     * Whether calls would currently be let through, without claiming the half-open probe.
+     */
+    public synchronized boolean isCallPermitted() {
+        return state == State.CLOSED || (state == State.OPEN && openPeriodOver());
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        if (state != State.CLOSED) {
+            log.info("Circuit {} closed", name);
+            state = State.CLOSED;
+        }
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            log.warn("Circuit {} open for {} ms after {} consecutive failures", name, openNanos / 1_000_000, consecutiveFailures);
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * Ends a call that says nothing about the downstream's health (cancelled, rejected locally).
+     * A half-open probe ending this way hands the probe to the next caller.
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            state = State.OPEN;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private boolean openPeriodOver() {
+        return System.nanoTime() - openedAt >= openNanos;
+    }
+
+    public static class CircuitOpenException extends RuntimeException {
+        public CircuitOpenException(String message) {
+            super(message);
+        }
+    }
+}
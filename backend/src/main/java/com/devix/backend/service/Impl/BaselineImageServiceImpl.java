@@ -7,7 +7,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
@@ -16,29 +19,37 @@ public class BaselineImageServiceImpl implements BaselineImageService {
     private final BaseImageRepo baseImageRepo;
 //    private final GoogleDriveService googleDriveService;
     private final LocalImageService localImageService;
+    private final ImageDerivativeService imageDerivativeService;
+    private final ImageCacheService imageCacheService;
+    private final ReferenceDataCache referenceDataCache;
 
-    public BaselineImageServiceImpl (BaseImageRepo baseImageRepo, LocalImageService localImageService) {
+    public BaselineImageServiceImpl (BaseImageRepo baseImageRepo, LocalImageService localImageService, ImageDerivativeService imageDerivativeService, ImageCacheService imageCacheService, ReferenceDataCache referenceDataCache) {
         this.baseImageRepo = baseImageRepo;
         this.localImageService = localImageService;
+        this.imageDerivativeService = imageDerivativeService;
+        this.imageCacheService = imageCacheService;
+        this.referenceDataCache = referenceDataCache;
     }
 
     @Override
-    public void addBaseImage(String transformerNo, MultipartFile baseImageSunny, MultipartFile baseImageCloudy, MultipartFile baseImageRainy, String uploadedBy, String uploadedDate, String uploadedTime) throws Exception {
+    public void addBaseImage(String transformerNo, MultipartFile baseImageSunny, MultipartFile baseImageCloudy, MultipartFile baseImageRainy, String sunnyImageHash, String cloudyImageHash, String rainyImageHash, String uploadedBy, String uploadedDate, String uploadedTime) throws Exception {
         try {
             log.info("Adding base image for transformer: {}", transformerNo);
             BaselineImage baselineImage = new BaselineImage();
+            List<String> replacedImageUrls = List.of();
 
             if (baseImageRepo.findByTransformerNo(transformerNo) != null) {
                 baselineImage = baseImageRepo.findByTransformerNo(transformerNo);
+                replacedImageUrls = imageUrls(baselineImage);
             }else{
                 baselineImage.setTransformerNo(transformerNo);
             }
 
-            String sunnyImageUrl = localImageService.uploadImage(baseImageSunny);
+            String sunnyImageUrl = localImageService.storeImage(baseImageSunny, sunnyImageHash);
             log.info("sunnyImageUrl: {}", sunnyImageUrl);
-            String cloudyImageUrl = localImageService.uploadImage(baseImageCloudy);
+            String cloudyImageUrl = localImageService.storeImage(baseImageCloudy, cloudyImageHash);
             log.info("cloudyImageUrl: {}", cloudyImageUrl);
-            String rainyImageUrl = localImageService.uploadImage(baseImageRainy);
+            String rainyImageUrl = localImageService.storeImage(baseImageRainy, rainyImageHash);
             log.info("rainyImageUrl: {}", rainyImageUrl);
 
             baselineImage.setSunnyImageUrl(sunnyImageUrl);
@@ -49,6 +60,13 @@ public class BaselineImageServiceImpl implements BaselineImageService {
             baselineImage.setUploadedTime(uploadedTime);
 
             baseImageRepo.save(baselineImage);
+            referenceDataCache.evictBaselineImage(transformerNo);
+            replacedImageUrls.forEach(imageCacheService::invalidate);
+            replacedImageUrls.forEach(localImageService::releaseImage);
+
+            imageDerivativeService.generateAsync(sunnyImageUrl);
+            imageDerivativeService.generateAsync(cloudyImageUrl);
+            imageDerivativeService.generateAsync(rainyImageUrl);
             log.info("Base image added successfully");
         } catch (Exception e) {
             log.error("Error adding base image: {}", e.getMessage());
@@ -65,6 +83,9 @@ public class BaselineImageServiceImpl implements BaselineImageService {
                 throw new Exception("Baseline image not found");
             }
             baseImageRepo.delete(baselineImage);
+            referenceDataCache.evictBaselineImage(transformerNo);
+            imageUrls(baselineImage).forEach(imageCacheService::invalidate);
+            imageUrls(baselineImage).forEach(localImageService::releaseImage);
 
         }catch (Exception e){
             log.error("Error deleting base image: {}", e.getMessage());
@@ -77,18 +98,59 @@ public class BaselineImageServiceImpl implements BaselineImageService {
     public Map<String, Object> getBaseImage(String transformerNo) throws Exception {
         try {
             log.info("Fetching base image for transformer: {}", transformerNo);
-            BaselineImage baselineImage = baseImageRepo.findByTransformerNo(transformerNo);
+            BaselineImage baselineImage = referenceDataCache.findBaselineImage(transformerNo);
             if (baselineImage == null) {
                 throw new Exception("Baseline image not found");
             }
+            String imageUrl = "/api/baseImage/image/" + baselineImage.getId();
             return Map.of(
-                    "sunny", localImageService.getImage(baselineImage.getSunnyImageUrl()),
-                    "cloudy", localImageService.getImage(baselineImage.getCloudyImageUrl()),
-                    "rainy", localImageService.getImage(baselineImage.getRainyImageUrl())
+                    "sunny", localImageService.imageUrl(baselineImage.getSunnyImageUrl(), imageUrl + "/sunny"),
+                    "cloudy", localImageService.imageUrl(baselineImage.getCloudyImageUrl(), imageUrl + "/cloudy"),
+                    "rainy", localImageService.imageUrl(baselineImage.getRainyImageUrl(), imageUrl + "/rainy"),
+                    "uploadedBy", String.valueOf(baselineImage.getUploadedBy()),
+                    "uploadedDate", String.valueOf(baselineImage.getUploadedDate()),
+                    "uploadedTime", String.valueOf(baselineImage.getUploadedTime())
             );
         } catch (Exception e) {
             log.error("Error fetching base image: {}", e.getMessage());
             throw new Exception("Error fetching base image: " + e.getMessage());
         }
     }
+
+    @Override
+    public String getBaseImagePath(Long imageId, String condition, String size) throws Exception {
+        try {
+            return imageDerivativeService.resolve(getConditionImageUrl(imageId, condition), size);
+        } catch (Exception e) {
+            log.error("Error fetching base image path: {}", e.getMessage());
+            throw new Exception("Error fetching base image path: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String getBaseTilePath(Long imageId, String condition, int level, int x, int y) throws Exception {
+        try {
+            return imageDerivativeService.resolveTile(getConditionImageUrl(imageId, condition), level, x, y);
+        } catch (Exception e) {
+            log.error("Error fetching base image tile: {}", e.getMessage());
+            throw new Exception("Error fetching base image tile: " + e.getMessage());
+        }
+    }
+
+    private List<String> imageUrls(BaselineImage baselineImage) {
+        return Stream.of(baselineImage.getSunnyImageUrl(), baselineImage.getCloudyImageUrl(), baselineImage.getRainyImageUrl())
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private String getConditionImageUrl(Long imageId, String condition) throws Exception {
+        BaselineImage baselineImage = baseImageRepo.findById(imageId)
+                .orElseThrow(() -> new Exception("Baseline image not found"));
+        return switch (condition.toLowerCase()) {
+            case "sunny" -> baselineImage.getSunnyImageUrl();
+            case "cloudy" -> baselineImage.getCloudyImageUrl();
+            case "rainy" -> baselineImage.getRainyImageUrl();
+            default -> throw new Exception("Unknown image condition: " + condition);
+        };
+    }
 }
@@ -0,0 +1,250 @@
+package com.devix.backend.service.Impl;
+
+import com.devix.backend.dto.BulkIngestManifestEntryDto;
+import com.devix.backend.dto.BulkIngestResultDto;
+import com.devix.backend.model.Inspection;
+import com.devix.backend.model.InspectionImage;
+import com.devix.backend.repo.InspectionImageRepo;
+import com.devix.backend.repo.InspectionRepo;
+import com.devix.backend.service.AiService;
+import com.devix.backend.service.BulkIngestService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+@Service
+@Slf4j
+public class BulkIngestServiceImpl implements BulkIngestService {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String MANIFEST_NAME = "manifest.json";
+    private static final Set<String> CONDITIONS = Set.of("Sunny", "Cloudy", "Rainy");
+
+    private final InspectionRepo inspectionRepo;
+    private final InspectionImageRepo inspectionImageRepo;
+    private final LocalImageService localImageService;
+    private final ImageDerivativeService imageDerivativeService;
+    private final AiService aiService;
+    private final ThreadPoolTaskExecutor imageIngestExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxFiles;
+
+    public BulkIngestServiceImpl(InspectionRepo inspectionRepo, InspectionImageRepo inspectionImageRepo,
+                                 LocalImageService localImageService, ImageDerivativeService imageDerivativeService,
+                                 AiService aiService,
+                                 @Qualifier("imageIngestExecutor") ThreadPoolTaskExecutor imageIngestExecutor,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${image.ingest.max-files:500}") int maxFiles) {
+        this.inspectionRepo = inspectionRepo;
+        this.inspectionImageRepo = inspectionImageRepo;
+        this.localImageService = localImageService;
+        this.imageDerivativeService = imageDerivativeService;
+        this.aiService = aiService;
+        this.imageIngestExecutor = imageIngestExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxFiles = maxFiles;
+    }
+
+    @Override
+    public List<BulkIngestResultDto> ingestFiles(List<MultipartFile> files, String manifest, String uploadedBy,
+                                                 String uploadedDate, String uploadedTime) throws Exception {
+        try {
+            log.info("Bulk ingest of {} files", files == null ? 0 : files.size());
+            Map<String, ImageSource> sources = new HashMap<>();
+            if (files != null) {
+                for (MultipartFile file : files) {
+                    sources.put(file.getOriginalFilename(), file::getInputStream);
+                }
+            }
+            return ingest(parseManifest(manifest), sources, uploadedBy, uploadedDate, uploadedTime);
+        } catch (Exception e) {
+            log.error("Error in bulk ingest: {}", e.getMessage());
+            throw new Exception("Error in bulk ingest: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<BulkIngestResultDto> ingestArchive(MultipartFile archive, String uploadedBy, String uploadedDate,
+                                                   String uploadedTime) throws Exception {
+        Path archivePath = null;
+        try {
+            log.info("Bulk ingest of archive {}", archive.getOriginalFilename());
+            // ZipFile needs random access, and its entries can then be read by several writers at once
+            archivePath = Files.createTempFile("bulk-ingest-", ".zip");
+            archive.transferTo(archivePath);
+            try (ZipFile zipFile = new ZipFile(archivePath.toFile())) {
+                ZipEntry manifestEntry = zipFile.getEntry(MANIFEST_NAME);
+                if (manifestEntry == null) {
+                    throw new Exception("Archive has no " + MANIFEST_NAME);
+                }
+                String manifest;
+                try (InputStream in = zipFile.getInputStream(manifestEntry)) {
+                    manifest = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                }
+                Map<String, ImageSource> sources = new HashMap<>();
+                zipFile.stream()
+                        .filter(entry -> !entry.isDirectory() && !MANIFEST_NAME.equals(entry.getName()))
+                        .forEach(entry -> sources.put(entry.getName(), () -> zipFile.getInputStream(entry)));
+                return ingest(parseManifest(manifest), sources, uploadedBy, uploadedDate, uploadedTime);
+            }
+        } catch (Exception e) {
+            log.error("Error in bulk archive ingest: {}", e.getMessage());
+            throw new Exception("Error in bulk ingest: " + e.getMessage());
+        } finally {
+            if (archivePath != null) {
+                Files.deleteIfExists(archivePath);
+            }
+        }
+    }
+
+    /**
+     * Validates every manifest entry, writes the valid files to the image store in parallel, then
+     * saves all inspection image rows and status updates in one transaction. An inspection that
+     * already has an image gets it replaced, and only one entry per inspection is accepted. A file
+     * that fails validation or storage is reported and skipped; if the transaction fails, every
+     * stored file is released again and reported as failed.
+     */
+    private List<BulkIngestResultDto> ingest(List<BulkIngestManifestEntryDto> manifest, Map<String, ImageSource> sources,
+                                             String uploadedBy, String uploadedDate, String uploadedTime) throws Exception {
+        if (manifest.size() > maxFiles) {
+            throw new Exception("Too many files: " + manifest.size() + " (max " + maxFiles + ")");
+        }
+        Map<String, Inspection> inspections = inspectionRepo.findAllByInspectionNoIn(manifest.stream()
+                        .map(BulkIngestManifestEntryDto::getInspectionNo).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Inspection::getInspectionNo, inspection -> inspection, (a, b) -> a));
+
+        List<BulkIngestResultDto> results = new ArrayList<>();
+        Map<Integer, CompletableFuture<String>> writes = new LinkedHashMap<>();
+        Set<String> claimedInspectionNos = new HashSet<>();
+        for (BulkIngestManifestEntryDto entry : manifest) {
+            BulkIngestResultDto result = new BulkIngestResultDto(entry.getFileName(), entry.getInspectionNo(), false, null);
+            results.add(result);
+            ImageSource source = sources.get(entry.getFileName());
+            if (source == null) {
+                result.setError("File not found in upload");
+            } else if (!inspections.containsKey(entry.getInspectionNo())) {
+                result.setError("Inspection not found");
+            } else if (!CONDITIONS.contains(entry.getImageCondition())) {
+                result.setError("Image condition must be one of " + CONDITIONS);
+            } else if (!claimedInspectionNos.add(entry.getInspectionNo())) {
+                // An inspection holds one thermal image; a second entry would only replace the first
+                result.setError("Inspection appears more than once in the manifest");
+            } else {
+                writes.put(results.size() - 1,
+                        CompletableFuture.supplyAsync(() -> store(source, entry.getFileName()), imageIngestExecutor));
+            }
+        }
+
+        // Manifest index -> stored path, for the files that made it into the store
+        Map<Integer, String> stored = new LinkedHashMap<>();
+        for (Map.Entry<Integer, CompletableFuture<String>> write : writes.entrySet()) {
+            BulkIngestManifestEntryDto entry = manifest.get(write.getKey());
+            try {
+                stored.put(write.getKey(), write.getValue().join());
+            } catch (Exception e) {
+                String message = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+                log.error("Error storing {}: {}", entry.getFileName(), message);
+                results.get(write.getKey()).setError(message);
+            }
+        }
+
+        if (!stored.isEmpty()) {
+            Set<String> updatedInspectionNos = stored.keySet().stream().map(index -> manifest.get(index).getInspectionNo())
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    // Latest row per inspection, also when older releases left several
+                    Map<String, InspectionImage> existing = inspectionImageRepo
+                            .findAllByInspectionNoInOrderByIdAsc(updatedInspectionNos).stream()
+                            .collect(Collectors.toMap(InspectionImage::getInspectionNo, image -> image, (older, latest) -> latest));
+                    List<InspectionImage> images = new ArrayList<>();
+                    List<String> replacedImageUrls = new ArrayList<>();
+                    stored.forEach((index, imageUrl) -> {
+                        BulkIngestManifestEntryDto entry = manifest.get(index);
+                        InspectionImage current = existing.get(entry.getInspectionNo());
+                        if (current != null) {
+                            replacedImageUrls.add(current.getThermalImageUrl());
+                        }
+                        images.add(fillInspectionImage(current != null ? current : new InspectionImage(), entry,
+                                inspections.get(entry.getInspectionNo()), imageUrl, uploadedBy, uploadedDate, uploadedTime));
+                    });
+                    inspectionImageRepo.saveAll(images);
+                    inspectionRepo.updateStatusByInspectionNos(updatedInspectionNos, "pending");
+                    localImageService.releaseImagesAfterCommit(replacedImageUrls);
+                });
+            } catch (Exception e) {
+                log.error("Error saving bulk ingest rows: {}", e.getMessage());
+                stored.values().forEach(localImageService::releaseImage);
+                stored.keySet().forEach(index -> results.get(index).setError("Could not save: " + e.getMessage()));
+                return results;
+            }
+            stored.keySet().forEach(index -> results.get(index).setSuccess(true));
+            stored.values().forEach(imageDerivativeService::generateAsync);
+            updatedInspectionNos.forEach(aiService::enqueueAnalysis);
+        }
+        log.info("Bulk ingest stored {} of {} files", stored.size(), manifest.size());
+        return results;
+    }
+
+    private String store(ImageSource source, String fileName) {
+        try (InputStream in = source.open()) {
+            return localImageService.uploadImage(in, fileName);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read " + fileName + ": " + e.getMessage());
+        }
+    }
+
+    private InspectionImage fillInspectionImage(InspectionImage inspectionImage, BulkIngestManifestEntryDto entry,
+                                                Inspection inspection, String imageUrl, String uploadedBy,
+                                                String uploadedDate, String uploadedTime) {
+        inspectionImage.setInspectionNo(inspection.getInspectionNo());
+        inspectionImage.setTransformerNo(inspection.getTransformerNo());
+        inspectionImage.setThermalImageUrl(imageUrl);
+        inspectionImage.setThermalImageCondition(entry.getImageCondition());
+        inspectionImage.setUploadedBy(entry.getUploadedBy() != null ? entry.getUploadedBy() : uploadedBy);
+        inspectionImage.setUploadedDate(entry.getUploadedDate() != null ? entry.getUploadedDate() : uploadedDate);
+        inspectionImage.setUploadedTime(entry.getUploadedTime() != null ? entry.getUploadedTime() : uploadedTime);
+        return inspectionImage;
+    }
+
+    private List<BulkIngestManifestEntryDto> parseManifest(String manifest) throws Exception {
+        if (manifest == null || manifest.isBlank()) {
+            throw new Exception("Manifest is required");
+        }
+        try {
+            return OBJECT_MAPPER.readValue(manifest, new TypeReference<List<BulkIngestManifestEntryDto>>() {});
+        } catch (IOException e) {
+            throw new Exception("Invalid manifest: " + e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface ImageSource {
+        InputStream open() throws IOException;
+    }
+}
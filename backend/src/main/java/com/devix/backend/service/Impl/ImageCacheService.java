@@ -0,0 +1,94 @@
+package com.devix.backend.service.Impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Byte cache for image files, bounded by total size in bytes. Caffeine's W-TinyLFU admission
+ * keeps the few hot baselines resident while one-off thermal reads are evicted first.
+ * With {@code image.cache.off-heap=true} the bytes live in direct buffers outside the GC heap.
+ */
+@Service
+@Slf4j
+public class ImageCacheService {
+
+    private final Cache<String, ByteBuffer> cache;
+    private final boolean enabled;
+    private final boolean offHeap;
+    private final long maxEntryBytes;
+
+    public ImageCacheService(@Value("${image.cache.enabled:true}") boolean enabled,
+                             @Value("${image.cache.max-bytes:67108864}") long maxBytes,
+                             @Value("${image.cache.max-entry-bytes:8388608}") long maxEntryBytes,
+                             @Value("${image.cache.off-heap:false}") boolean offHeap) {
+        this.enabled = enabled;
+        this.offHeap = offHeap;
+        this.maxEntryBytes = maxEntryBytes;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String path, ByteBuffer bytes) -> bytes.capacity())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns a read-only view of the file's bytes, loading them on a miss. Returns null when
+     * caching is disabled or the file is too large to be worth caching.
+     */
+    public ByteBuffer get(Path file, long length) {
+        if (!enabled || length > maxEntryBytes) {
+            return null;
+        }
+        ByteBuffer bytes = cache.get(file.toString().replace("\\", "/"), key -> load(file, length));
+        return bytes.asReadOnlyBuffer();
+    }
+
+    public void invalidate(String path) {
+        if (path != null) {
+            cache.invalidate(path);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", enabled);
+        result.put("offHeap", offHeap);
+        result.put("entries", cache.estimatedSize());
+        result.put("weightedBytes", cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L));
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        result.put("evictionBytes", stats.evictionWeight());
+        result.put("averageLoadMillis", stats.averageLoadPenalty() / 1_000_000.0);
+        return result;
+    }
+
+    private ByteBuffer load(Path file, long length) {
+        ByteBuffer buffer = offHeap ? ByteBuffer.allocateDirect((int) length) : ByteBuffer.allocate((int) length);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // keep reading until the buffer is full or the file ends
+            }
+        } catch (IOException e) {
+            log.error("Error caching image {}: {}", file, e.getMessage());
+            throw new UncheckedIOException(e);
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,227 @@
+package com.devix.backend.service.Impl;
+
+import com.devix.backend.model.ImageDerivative;
+import com.devix.backend.repo.ImageDerivativeRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class ImageDerivativeService {
+
+    public static final String THUMBNAIL = "thumbnail";
+    public static final String PREVIEW = "preview";
+    public static final String TILES = "tiles";
+
+    private static final int TILE_SIZE = 256;
+
+    private final ImageDerivativeRepo imageDerivativeRepo;
+    private final ThreadPoolTaskExecutor executor;
+    // Sources this instance is generating derivatives for; a repeat upload of the same content skips instead of racing it
+    private final Set<String> inProgress = ConcurrentHashMap.newKeySet();
+
+    @Value("${image.upload.dir}")
+    private String uploadDir;
+
+    @Value("${image.derivatives.thumbnail-size:256}")
+    private int thumbnailSize;
+
+    @Value("${image.derivatives.preview-size:1024}")
+    private int previewSize;
+
+    @Value("${image.derivatives.tiles.enabled:false}")
+    private boolean tilesEnabled;
+
+    public ImageDerivativeService(ImageDerivativeRepo imageDerivativeRepo,
+                                  @Qualifier("imageDerivativeExecutor") ThreadPoolTaskExecutor executor) {
+        this.imageDerivativeRepo = imageDerivativeRepo;
+        this.executor = executor;
+    }
+
+    /**
+     * Queues thumbnail, preview and (when enabled) tile generation for an uploaded image.
+     * Runs on the bounded derivative pool so the upload request returns straight away.
+     */
+    public void generateAsync(String sourceUrl) {
+        if (sourceUrl == null || sourceUrl.isEmpty()) {
+            return;
+        }
+        executor.execute(() -> {
+            if (!inProgress.add(sourceUrl)) {
+                return;
+            }
+            try {
+                generate(sourceUrl);
+            } catch (Exception e) {
+                log.error("Error generating derivatives for {}: {}", sourceUrl, e.getMessage(), e);
+            } finally {
+                inProgress.remove(sourceUrl);
+            }
+        });
+    }
+
+    /**
+     * Writes the variants not recorded for the source yet. Content-addressed uploads can repeat and
+     * derivatives of identical bytes are identical, so recorded variants are kept; a run that failed
+     * part-way is completed by the next one.
+     */
+    public void generate(String sourceUrl) throws IOException {
+        Set<String> recorded = imageDerivativeRepo.findAllBySourceUrl(sourceUrl).stream()
+                .map(ImageDerivative::getVariant)
+                .collect(Collectors.toSet());
+        boolean thumbnailMissing = !recorded.contains(THUMBNAIL);
+        boolean previewMissing = !recorded.contains(PREVIEW);
+        boolean tilesMissing = tilesEnabled && !recorded.contains(TILES);
+        if (!thumbnailMissing && !previewMissing && !tilesMissing) {
+            return;
+        }
+
+        BufferedImage source = ImageIO.read(Paths.get(sourceUrl).toFile());
+        if (source == null) {
+            log.warn("Unsupported image format, skipping derivatives for {}", sourceUrl);
+            return;
+        }
+
+        Path derivativeDir = Paths.get(uploadDir, "derivatives");
+        Files.createDirectories(derivativeDir);
+        String baseName = baseName(sourceUrl);
+
+        if (thumbnailMissing) {
+            saveScaled(sourceUrl, source, THUMBNAIL, thumbnailSize, derivativeDir.resolve(baseName + "_thumb.jpg"));
+        }
+        if (previewMissing) {
+            saveScaled(sourceUrl, source, PREVIEW, previewSize, derivativeDir.resolve(baseName + "_preview.jpg"));
+        }
+        if (tilesMissing) {
+            Path tileDir = derivativeDir.resolve(baseName + "_tiles");
+            writeTilePyramid(source, tileDir);
+            record(sourceUrl, TILES, tileDir, source.getWidth(), source.getHeight());
+        }
+        log.info("Derivatives generated for {}", sourceUrl);
+    }
+
+    /**
+     * Returns the path to serve for the requested size, falling back to the original
+     * when the variant is unknown or has not been generated yet.
+     */
+    public String resolve(String sourceUrl, String size) {
+        if (sourceUrl == null || size == null || size.isEmpty() || "original".equalsIgnoreCase(size)) {
+            return sourceUrl;
+        }
+        ImageDerivative derivative = imageDerivativeRepo.findBySourceUrlAndVariant(sourceUrl, size.toLowerCase());
+        if (derivative == null || TILES.equals(derivative.getVariant())) {
+            return sourceUrl;
+        }
+        return derivative.getDerivativeUrl();
+    }
+
+    /**
+     * Returns the path of one deep-zoom tile. Level 0 is full resolution and every
+     * following level halves the image until it fits in a single tile.
+     */
+    public String resolveTile(String sourceUrl, int level, int x, int y) {
+        ImageDerivative derivative = imageDerivativeRepo.findBySourceUrlAndVariant(sourceUrl, TILES);
+        if (derivative == null) {
+            return null;
+        }
+        return Paths.get(derivative.getDerivativeUrl(), String.valueOf(level), x + "_" + y + ".jpg")
+                .toString().replace("\\", "/");
+    }
+
+    public void deleteDerivatives(String sourceUrl) {
+        for (ImageDerivative derivative : imageDerivativeRepo.findAllBySourceUrl(sourceUrl)) {
+            try {
+                FileSystemUtils.deleteRecursively(Paths.get(derivative.getDerivativeUrl()));
+            } catch (IOException e) {
+                log.warn("Could not delete derivative {}: {}", derivative.getDerivativeUrl(), e.getMessage());
+            }
+            imageDerivativeRepo.delete(derivative);
+        }
+    }
+
+    private void saveScaled(String sourceUrl, BufferedImage source, String variant, int maxSize, Path target) throws IOException {
+        double scale = Math.min(1.0, (double) maxSize / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        ImageIO.write(resize(source, width, height), "jpg", target.toFile());
+        record(sourceUrl, variant, target, width, height);
+    }
+
+    private void writeTilePyramid(BufferedImage source, Path tileDir) throws IOException {
+        BufferedImage level = source;
+        int levelNo = 0;
+        while (true) {
+            Path levelDir = tileDir.resolve(String.valueOf(levelNo));
+            Files.createDirectories(levelDir);
+            for (int y = 0; y * TILE_SIZE < level.getHeight(); y++) {
+                for (int x = 0; x * TILE_SIZE < level.getWidth(); x++) {
+                    int tileWidth = Math.min(TILE_SIZE, level.getWidth() - x * TILE_SIZE);
+                    int tileHeight = Math.min(TILE_SIZE, level.getHeight() - y * TILE_SIZE);
+                    BufferedImage tile = level.getSubimage(x * TILE_SIZE, y * TILE_SIZE, tileWidth, tileHeight);
+                    ImageIO.write(resize(tile, tileWidth, tileHeight), "jpg", levelDir.resolve(x + "_" + y + ".jpg").toFile());
+                }
+            }
+            if (level.getWidth() <= TILE_SIZE && level.getHeight() <= TILE_SIZE) {
+                break;
+            }
+            level = resize(level, Math.max(1, level.getWidth() / 2), Math.max(1, level.getHeight() / 2));
+            levelNo++;
+        }
+    }
+
+    // Draws into an RGB buffer so the JPEG writer never sees an alpha channel
+    private BufferedImage resize(BufferedImage source, int width, int height) {
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    private void record(String sourceUrl, String variant, Path path, int width, int height) {
+        ImageDerivative derivative = imageDerivativeRepo.findBySourceUrlAndVariant(sourceUrl, variant);
+        if (derivative == null) {
+            derivative = new ImageDerivative();
+            derivative.setSourceUrl(sourceUrl);
+            derivative.setVariant(variant);
+        }
+        derivative.setDerivativeUrl(path.toString().replace("\\", "/"));
+        derivative.setWidth(width);
+        derivative.setHeight(height);
+        try {
+            imageDerivativeRepo.save(derivative);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance recorded this variant first (unique on source_url, variant); its file is the same
+            log.info("Derivative {} of {} already recorded", variant, sourceUrl);
+        }
+    }
+
+    private String baseName(String sourceUrl) {
+        String fileName = Paths.get(sourceUrl).getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+}
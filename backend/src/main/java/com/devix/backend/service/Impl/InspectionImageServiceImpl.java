@@ -1,5 +1,6 @@
 package com.devix.backend.service.Impl;
 
+import com.devix.backend.dto.InspectionView;
 import com.devix.backend.model.*;
 import com.devix.backend.repo.AiResultsRepo;
 import com.devix.backend.repo.BaseImageRepo;
@@ -8,11 +9,14 @@ import com.devix.backend.repo.InspectionImageRepo;
 import com.devix.backend.repo.InspectionRepo;
 import com.devix.backend.service.AiService;
 import com.devix.backend.service.InspectionImageService;
+import com.devix.backend.service.ResultValues;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -28,10 +32,11 @@ public class InspectionImageServiceImpl implements InspectionImageService {
     private final AiResultsRepo aiResultsRepo;
     private final EvalResultsRepo evalResultsRepo;
     private final AiService aiService;
+    private final ImageDerivativeService imageDerivativeService;
 
     public InspectionImageServiceImpl(InspectionImageRepo inspectionImageRepo, BaseImageRepo baseImageRepo,
             LocalImageService localImageService, InspectionRepo inspectionRepo, AiResultsRepo aiResultsRepo,
-            EvalResultsRepo evalResultsRepo, AiService aiService) {
+            EvalResultsRepo evalResultsRepo, AiService aiService, ImageDerivativeService imageDerivativeService) {
         this.inspectionImageRepo = inspectionImageRepo;
         this.baseImageRepo = baseImageRepo;
         this.localImageService = localImageService;
@@ -39,6 +44,7 @@ public class InspectionImageServiceImpl implements InspectionImageService {
         this.aiResultsRepo = aiResultsRepo;
         this.evalResultsRepo = evalResultsRepo;
         this.aiService = aiService;
+        this.imageDerivativeService = imageDerivativeService;
     }
 
     @Override
@@ -46,11 +52,14 @@ public class InspectionImageServiceImpl implements InspectionImageService {
         try {
             log.info("Fetching comparison images for inspection: {}", inspectionNo);
 
-            InspectionImage inspectionImage = inspectionImageRepo.findByInspectionNo(inspectionNo);
-            Inspection inspection = inspectionRepo.findByInspectionNo(inspectionNo);
+            InspectionView view = loadView(inspectionNo);
+            if (view == null) {
+                throw new Exception("Inspection not found");
+            }
+            InspectionImage inspectionImage = view.getInspectionImage();
 
             Map<String, Object> images = new HashMap<>();
-            BaselineImage baselineImage = baseImageRepo.findByTransformerNo(inspection.getTransformerNo());
+            BaselineImage baselineImage = view.getBaselineImage();
 
             String baseImageUrl = null;
             String baseImageUploadedDate = null;
@@ -63,7 +72,8 @@ public class InspectionImageServiceImpl implements InspectionImageService {
             String inspectionImageUploadedBy = null;
 
             if (inspectionImage != null) {
-                inspectionImageUrl = inspectionImage.getThermalImageUrl();
+                inspectionImageUrl = localImageService.imageUrl(inspectionImage.getThermalImageUrl(),
+                        "/api/inspectionImage/image/" + inspectionImage.getId());
                 inspectionImageUploadedDate = inspectionImage.getUploadedDate();
                 inspectionImageUploadedTime = inspectionImage.getUploadedTime();
                 inspectionImageUploadedBy = inspectionImage.getUploadedBy();
@@ -76,19 +86,22 @@ public class InspectionImageServiceImpl implements InspectionImageService {
                 switch (inspectionImage.getThermalImageCondition()) {
 
                     case "Sunny" -> {
-                        baseImageUrl = localImageService.getImage(baselineImage.getSunnyImageUrl());
+                        baseImageUrl = localImageService.imageUrl(baselineImage.getSunnyImageUrl(),
+                                "/api/baseImage/image/" + baselineImage.getId() + "/sunny");
                         baseImageUploadedDate = baselineImage.getUploadedDate();
                         baseImageUploadedTime = baselineImage.getUploadedTime();
                         baseImageUploadedBy = baselineImage.getUploadedBy();
                     }
                     case "Cloudy" -> {
-                        baseImageUrl = localImageService.getImage(baselineImage.getCloudyImageUrl());
+                        baseImageUrl = localImageService.imageUrl(baselineImage.getCloudyImageUrl(),
+                                "/api/baseImage/image/" + baselineImage.getId() + "/cloudy");
                         baseImageUploadedDate = baselineImage.getUploadedDate();
                         baseImageUploadedTime = baselineImage.getUploadedTime();
                         baseImageUploadedBy = baselineImage.getUploadedBy();
                     }
                     case "Rainy" -> {
-                        baseImageUrl = localImageService.getImage(baselineImage.getRainyImageUrl());
+                        baseImageUrl = localImageService.imageUrl(baselineImage.getRainyImageUrl(),
+                                "/api/baseImage/image/" + baselineImage.getId() + "/rainy");
                         baseImageUploadedDate = baselineImage.getUploadedDate();
                         baseImageUploadedTime = baselineImage.getUploadedTime();
                         baseImageUploadedBy = baselineImage.getUploadedBy();
@@ -101,51 +114,23 @@ public class InspectionImageServiceImpl implements InspectionImageService {
             images.put("baseImageUploadedTime", baseImageUploadedTime);
             images.put("baseImageUploadedBy", baseImageUploadedBy);
 
-            images.put("thermal", localImageService.getImage(inspectionImageUrl));
+            images.put("thermal", inspectionImageUrl);
             images.put("thermalUploadedDate", inspectionImageUploadedDate);
             images.put("thermalUploadedTime", inspectionImageUploadedTime);
             images.put("thermalUploadedBy", inspectionImageUploadedBy);
 
-            List<EvalResults> evalResults = evalResultsRepo.findAllByInspectionNo(inspectionNo);
-            List<Map<String, String>> resultsList;
+            List<EvalResults> evalResults = view.getEvalResults();
+            List<Map<String, Object>> resultsList;
             if (evalResults.isEmpty()) {
                 log.info("No evaluation results found for inspection: {}", inspectionNo);
-                List<AiResults> aiResults = aiResultsRepo.findAllByInspectionNo(inspectionNo);
+                List<AiResults> aiResults = view.getAiResults();
                 resultsList = aiResults.stream()
-                        .map(result -> {
-                            Map<String, String> map = new HashMap<>();
-                            map.put("faultStatus", String.valueOf(result.getAnomalyStatus()));
-                            map.put("faultType", String.valueOf(result.getFaultType()));
-                            map.put("faultSeverity", String.valueOf(result.getFaultSeverity()));
-                            map.put("faultConfidence", String.valueOf(result.getFaultConfidence()));
-                            map.put("XCoordinate", String.valueOf(result.getXCoordinate()));
-                            map.put("YCoordinate", String.valueOf(result.getYCoordinate()));
-                            map.put("bbox", String.valueOf(result.getBbox()));
-                            map.put("areaPx", String.valueOf(result.getAreaPx()));
-                            map.put("hotspotX", String.valueOf(result.getHotspotX()));
-                            map.put("hotspotY", String.valueOf(result.getHotspotY()));
-                            return map;
-                        })
+                        .map(InspectionImageServiceImpl::aiResultMap)
                         .toList();
             } else {
                 log.info("Evaluation results found for inspection: {}", inspectionNo);
                 resultsList = evalResults.stream()
-                        .map(result -> {
-                            Map<String, String> map = new HashMap<>();
-                            map.put("faultStatus", String.valueOf(result.getAnomalyStatus()));
-                            map.put("faultType", String.valueOf(result.getFaultType()));
-                            map.put("faultSeverity", String.valueOf(result.getFaultSeverity()));
-                            map.put("faultConfidence", String.valueOf(result.getFaultConfidence()));
-                            map.put("XCoordinate", String.valueOf(result.getXCoordinate()));
-                            map.put("YCoordinate", String.valueOf(result.getYCoordinate()));
-                            map.put("bbox", String.valueOf(result.getBbox()));
-                            map.put("areaPx", String.valueOf(result.getAreaPx()));
-                            map.put("hotspotX", String.valueOf(result.getHotspotX()));
-                            map.put("hotspotY", String.valueOf(result.getHotspotY()));
-                            map.put("notes", String.valueOf(result.getNotes()));
-                            map.put("evaluatedBy", String.valueOf(result.getEvaluatedBy()));
-                            return map;
-                        })
+                        .map(InspectionImageServiceImpl::evalResultMap)
                         .toList();
             }
 
@@ -160,28 +145,47 @@ public class InspectionImageServiceImpl implements InspectionImageService {
 
     @Override
     public void addThermalImage(String inspectionNo, String transformerNo, String imageCondition,
-            MultipartFile thermalImage, String uploadedBy, String uploadedDate, String uploadedTime)
+            MultipartFile thermalImage, String thermalImageHash, String uploadedBy, String uploadedDate, String uploadedTime)
             throws Exception {
         try {
             log.info("Adding thermal image for inspection: {}", inspectionNo);
 
-            InspectionImage inspectionImage = new InspectionImage();
+            // A re-upload replaces the image of the existing row instead of adding a second row
+            InspectionImage inspectionImage = inspectionImageRepo.findFirstByInspectionNoOrderByIdDesc(inspectionNo);
+            String replacedImageUrl = null;
+            if (inspectionImage != null) {
+                replacedImageUrl = inspectionImage.getThermalImageUrl();
+            } else {
+                inspectionImage = new InspectionImage();
+                inspectionImage.setInspectionNo(inspectionNo);
+            }
 
-            inspectionImage.setInspectionNo(inspectionNo);
             inspectionImage.setTransformerNo(transformerNo);
-            String imageUrl = localImageService.uploadImage(thermalImage);
+            String imageUrl = localImageService.storeImage(thermalImage, thermalImageHash);
             inspectionImage.setThermalImageUrl(imageUrl);
             inspectionImage.setThermalImageCondition(imageCondition);
             inspectionImage.setUploadedBy(uploadedBy);
             inspectionImage.setUploadedDate(uploadedDate);
             inspectionImage.setUploadedTime(uploadedTime);
 
-            inspectionImageRepo.save(inspectionImage);
+            try {
+                inspectionImageRepo.save(inspectionImage);
+            } catch (RuntimeException e) {
+                // Nothing points at the new image yet, so give back the reference storeImage took
+                localImageService.releaseImage(imageUrl);
+                throw e;
+            }
+            if (replacedImageUrl != null) {
+                localImageService.releaseImagesAfterCommit(List.of(replacedImageUrl));
+            }
 
             Inspection inspection = inspectionRepo.findByInspectionNo(inspectionNo);
             inspection.setInspectionStatus("pending");
             inspectionRepo.save(inspection);
 
+            imageDerivativeService.generateAsync(imageUrl);
+            aiService.enqueueAnalysis(inspectionNo);
+
             log.info("Thermal image added successfully");
         } catch (Exception e) {
             log.error("Error adding thermal image: {}", e.getMessage());
@@ -193,20 +197,21 @@ public class InspectionImageServiceImpl implements InspectionImageService {
     public Map<String, String> getLastUpdatedDate(String inspectionNo) throws Exception {
         try {
             log.info("Fetching last updated date for inspection: {}", inspectionNo);
-            InspectionImage inspectionImage = inspectionImageRepo.findByInspectionNo(inspectionNo);
-            Inspection inspection = inspectionRepo.findByInspectionNo(inspectionNo);
-            List<EvalResults> evalResults = evalResultsRepo.findAllByInspectionNo(inspectionNo);
-
             Map<String, String> lastUpdatedInfo = new HashMap<>();
+            List<Object[]> rows = inspectionRepo.findLastUpdated(inspectionNo);
+            if (rows.isEmpty()) {
+                return lastUpdatedInfo;
+            }
+            // Columns: latest evaluated date, image id, uploaded date and time, inspection date and time
+            Object[] row = rows.get(0);
+            String evaluatedDateTime = (String) row[0];
 
-            if (evalResults != null && !evalResults.isEmpty()) {
-                String evaluatedDateTime = evalResults.get(0).getEvaluatedDate();
-
+            if (evaluatedDateTime != null) {
                 // Split datetime into date and time components
                 String evaluatedDate = "";
                 String evaluatedTime = "";
                 
-                if (evaluatedDateTime != null && !evaluatedDateTime.isEmpty()) {
+                if (!evaluatedDateTime.isEmpty()) {
                     // Assuming format like "2025-10-21 16:31:54" or "2025-10-21T16:31:54"
                     if (evaluatedDateTime.contains(" ")) {
                         String[] parts = evaluatedDateTime.split(" ", 2);
@@ -225,12 +230,12 @@ public class InspectionImageServiceImpl implements InspectionImageService {
                 lastUpdatedInfo.put("lastUpdatedDate", evaluatedDate);
                 lastUpdatedInfo.put("lastUpdatedTime", evaluatedTime);
                 
-            } else if (inspectionImage != null) {
-                lastUpdatedInfo.put("lastUpdatedDate", inspectionImage.getUploadedDate());
-                lastUpdatedInfo.put("lastUpdatedTime", inspectionImage.getUploadedTime());
-            } else if (inspection != null) {
-                lastUpdatedInfo.put("lastUpdatedDate", inspection.getInspectionDate());
-                lastUpdatedInfo.put("lastUpdatedTime", inspection.getInspectionTime());
+            } else if (row[1] != null) {
+                lastUpdatedInfo.put("lastUpdatedDate", (String) row[2]);
+                lastUpdatedInfo.put("lastUpdatedTime", (String) row[3]);
+            } else {
+                lastUpdatedInfo.put("lastUpdatedDate", (String) row[4]);
+                lastUpdatedInfo.put("lastUpdatedTime", (String) row[5]);
             }
             return lastUpdatedInfo;
         } catch (Exception e) {
@@ -246,9 +251,10 @@ public class InspectionImageServiceImpl implements InspectionImageService {
 
             List<EvalResults> evalResultsInit = evalResultsRepo.findAllByInspectionNo(evalResultsList.get(0).get("inspectionNo"));
             if(!evalResultsInit.isEmpty()){
-                evalResultsRepo.deleteAll(evalResultsInit);
+                evalResultsRepo.deleteAllInBatch(evalResultsInit);
             }
 
+            List<EvalResults> newEvalResults = new ArrayList<>(evalResultsList.size());
             for (Map<String, String> evalResultMap : evalResultsList) {
                 EvalResults evalResults = new EvalResults();
 
@@ -256,35 +262,44 @@ public class InspectionImageServiceImpl implements InspectionImageService {
                 evalResults.setTransformerNo(evalResultMap.get("transformerNo"));
                 evalResults.setAnomalyStatus(evalResultMap.get("anomalyStatus"));
                 evalResults.setFaultType(evalResultMap.get("faultType"));
-                evalResults.setFaultSeverity(evalResultMap.get("faultSeverity"));
-                evalResults.setFaultConfidence(evalResultMap.get("faultConfidence"));
-                evalResults.setXCoordinate(evalResultMap.get("XCoordinate"));
-                evalResults.setYCoordinate(evalResultMap.get("YCoordinate"));
-                evalResults.setBbox(evalResultMap.get("bbox"));
-                evalResults.setAreaPx(evalResultMap.get("areaPx"));
-                evalResults.setHotspotX(evalResultMap.get("hotspotX"));
-                evalResults.setHotspotY(evalResultMap.get("hotspotY"));
+                evalResults.setFaultSeverity(ResultValues.toDouble(evalResultMap.get("faultSeverity")));
+                evalResults.setFaultConfidence(ResultValues.toDouble(evalResultMap.get("faultConfidence")));
+                evalResults.setXCoordinate(ResultValues.toDouble(evalResultMap.get("XCoordinate")));
+                evalResults.setYCoordinate(ResultValues.toDouble(evalResultMap.get("YCoordinate")));
+                evalResults.setBbox(ResultValues.toBbox(evalResultMap.get("bbox")));
+                evalResults.setAreaPx(ResultValues.toInteger(evalResultMap.get("areaPx")));
+                evalResults.setHotspotX(ResultValues.toDouble(evalResultMap.get("hotspotX")));
+                evalResults.setHotspotY(ResultValues.toDouble(evalResultMap.get("hotspotY")));
                 evalResults.setNotes(evalResultMap.get("notes"));
                 evalResults.setEvaluatedBy(evalResultMap.get("evaluatedBy"));
                 evalResults.setEvaluatedDate(evalResultMap.get("evaluatedDate"));
 
-                evalResultsRepo.save(evalResults);
+                newEvalResults.add(evalResults);
             }
-            List<AiResults> aiResults = aiResultsRepo.findAllByInspectionNo(evalResultsList.get(0).get("inspectionNo"));
-            List<EvalResults> finalEvalResults = evalResultsRepo.findAllByInspectionNo(evalResultsList.get(0).get("inspectionNo"));
-            String inspectionImagePath = inspectionImageRepo.findByInspectionNo(evalResultsList.get(0).get("inspectionNo")).getThermalImageUrl();
-            
+            evalResultsRepo.saveAll(newEvalResults);
+            sendThresholdFeedback(evalResultsList.get(0).get("inspectionNo"), newEvalResults);
+
+            log.info("Evaluation results created successfully");
+        } catch (Exception e) {
+            log.error("Error creating evaluation results: {}", e.getMessage());
+            throw new Exception("Error creating evaluation results: " + e.getMessage());
+        }
+    }
+
+    // Best effort: the evaluation is saved either way, the AI server only tunes its thresholds from the edits
+    private void sendThresholdFeedback(String inspectionNo, List<EvalResults> evalResults) {
+        try {
+            List<AiResults> aiResults = aiResultsRepo.findAllByInspectionNo(inspectionNo);
+            String inspectionImagePath = inspectionImageRepo.findFirstByInspectionNoOrderByIdDesc(inspectionNo).getThermalImageUrl();
+
             Map<String, Object> requestData = new HashMap<>();
             requestData.put("current_detections", aiResults);
-            requestData.put("edits", finalEvalResults);
+            requestData.put("edits", evalResults);
             requestData.put("imageUrl", inspectionImagePath);
 
             aiService.updateThresholds(requestData);
-
-            log.info("Evaluation results created successfully");
         } catch (Exception e) {
-            log.error("Error creating evaluation results: {}", e.getMessage());
-            throw new Exception("Error creating evaluation results: " + e.getMessage());
+            log.warn("Evaluation results for inspection {} saved, but updating the AI thresholds failed: {}", inspectionNo, e.getMessage());
         }
     }
 
@@ -292,45 +307,114 @@ public class InspectionImageServiceImpl implements InspectionImageService {
     public Map<String, Object> getReport(String inspectionNo) throws Exception {
             log.info("Generating report for inspection: {}", inspectionNo);
         try {
-            
-            Map<String, Object> reportData = new HashMap<>();
-            List<AiResults> aiResults = aiResultsRepo.findAllByInspectionNo(inspectionNo);
-            List<EvalResults> evalResults = evalResultsRepo.findAllByInspectionNo(inspectionNo);
+            InspectionView view = loadView(inspectionNo);
+            if (view == null) {
+                throw new Exception("Inspection not found");
+            }
+            return buildReport(view);
 
-            String inspectionNoReport = inspectionNo;
-            String transformerNoReport = inspectionRepo.findByInspectionNo(inspectionNo).getTransformerNo();
+        } catch (Exception e) {
+            log.error("Error generating report: {}", e.getMessage());
+            throw new Exception("Error generating report: " + e.getMessage());
+        }
+    }
 
-            reportData.put("Inspection No", inspectionNoReport);
-            reportData.put("Transformer No", transformerNoReport);
+    // Null when the inspection does not exist; the result queries are skipped then
+    private InspectionView loadView(String inspectionNo) {
+        List<Object[]> rows = inspectionRepo.findInspectionView(inspectionNo);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        return InspectionView.fromRows(rows, aiResultsRepo.findAllByInspectionNoOrderByIdAsc(inspectionNo),
+                evalResultsRepo.findAllByInspectionNoOrderByIdAsc(inspectionNo));
+    }
 
-            Long baselineImageId = baseImageRepo.findByTransformerNo(transformerNoReport).getId();
-            reportData.put("Baseline Image ID", baselineImageId);
+    // Detection entries of the comparison view; package-level so the benchmarks can exercise them
+    static Map<String, Object> aiResultMap(AiResults result) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("faultStatus", String.valueOf(result.getAnomalyStatus()));
+        map.put("faultType", String.valueOf(result.getFaultType()));
+        map.put("faultSeverity", result.getFaultSeverity());
+        map.put("faultConfidence", result.getFaultConfidence());
+        map.put("XCoordinate", result.getXCoordinate());
+        map.put("YCoordinate", result.getYCoordinate());
+        map.put("bbox", result.getBbox());
+        map.put("areaPx", result.getAreaPx());
+        map.put("hotspotX", result.getHotspotX());
+        map.put("hotspotY", result.getHotspotY());
+        return map;
+    }
 
-            Long inspectionImageId = inspectionImageRepo.findByInspectionNo(inspectionNo).getId();
-            reportData.put("Inspection Image ID", inspectionImageId);
+    static Map<String, Object> evalResultMap(EvalResults result) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("faultStatus", String.valueOf(result.getAnomalyStatus()));
+        map.put("faultType", String.valueOf(result.getFaultType()));
+        map.put("faultSeverity", result.getFaultSeverity());
+        map.put("faultConfidence", result.getFaultConfidence());
+        map.put("XCoordinate", result.getXCoordinate());
+        map.put("YCoordinate", result.getYCoordinate());
+        map.put("bbox", result.getBbox());
+        map.put("areaPx", result.getAreaPx());
+        map.put("hotspotX", result.getHotspotX());
+        map.put("hotspotY", result.getHotspotY());
+        map.put("notes", String.valueOf(result.getNotes()));
+        map.put("evaluatedBy", String.valueOf(result.getEvaluatedBy()));
+        return map;
+    }
 
-            
+    // Shared with the bulk export so both produce the same report document
+    static Map<String, Object> buildReport(InspectionView view) {
+        Map<String, Object> reportData = new LinkedHashMap<>();
+        List<AiResults> aiResults = view.getAiResults();
+        List<EvalResults> evalResults = view.getEvalResults();
 
-            if (!evalResults.isEmpty()) {
-                reportData.put("Final Accepted Anomalies", evalResults);
-                reportData.put("Evaluated By", evalResults.get(0).getEvaluatedBy());
-                reportData.put("Evaluated Date", evalResults.get(0).getEvaluatedDate());
-            } else {
-                reportData.put("Final Accepted Anomalies", "No evaluation results available");
-            }
+        reportData.put("Inspection No", view.getInspection().getInspectionNo());
+        reportData.put("Transformer No", view.getInspection().getTransformerNo());
 
-            if (!aiResults.isEmpty()) {
-                reportData.put("Model Predicted Anomalies", aiResults);
-            } else {
-                reportData.put("Model Predicted Anomalies", "No AI results available");
-            }
+        Long baselineImageId = view.getBaselineImage() != null ? view.getBaselineImage().getId() : null;
+        reportData.put("Baseline Image ID", baselineImageId);
 
+        Long inspectionImageId = view.getInspectionImage() != null ? view.getInspectionImage().getId() : null;
+        reportData.put("Inspection Image ID", inspectionImageId);
 
-            return reportData;
+        if (!evalResults.isEmpty()) {
+            reportData.put("Final Accepted Anomalies", evalResults);
+            reportData.put("Evaluated By", evalResults.get(0).getEvaluatedBy());
+            reportData.put("Evaluated Date", evalResults.get(0).getEvaluatedDate());
+        } else {
+            reportData.put("Final Accepted Anomalies", "No evaluation results available");
+        }
 
+        if (!aiResults.isEmpty()) {
+            reportData.put("Model Predicted Anomalies", aiResults);
+        } else {
+            reportData.put("Model Predicted Anomalies", "No AI results available");
+        }
+
+        return reportData;
+    }
+
+    @Override
+    public String getThermalImagePath(Long imageId, String size) throws Exception {
+        try {
+            InspectionImage inspectionImage = inspectionImageRepo.findById(imageId)
+                    .orElseThrow(() -> new Exception("Inspection image not found"));
+            return imageDerivativeService.resolve(inspectionImage.getThermalImageUrl(), size);
         } catch (Exception e) {
-            log.error("Error generating report: {}", e.getMessage());
-            throw new Exception("Error generating report: " + e.getMessage());
+            log.error("Error fetching thermal image path: {}", e.getMessage());
+            throw new Exception("Error fetching thermal image path: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String getThermalTilePath(Long imageId, int level, int x, int y) throws Exception {
+        try {
+            InspectionImage inspectionImage = inspectionImageRepo.findById(imageId)
+                    .orElseThrow(() -> new Exception("Inspection image not found"));
+            return imageDerivativeService.resolveTile(inspectionImage.getThermalImageUrl(), level, x, y);
+        } catch (Exception e) {
+            log.error("Error fetching thermal image tile: {}", e.getMessage());
+            throw new Exception("Error fetching thermal image tile: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package com.devix.backend.service.Impl;
+
+import com.devix.backend.repo.InspectionRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out inspection numbers from blocks reserved on inspection_no_seq. One nextval reserves
+ * blockSize numbers, so most creates never touch the database. Numbers are unique across
+ * instances but not gap-free: a restart discards the rest of the current block.
+ */
+@Component
+@Slf4j
+public class InspectionNoGenerator {
+
+    private final InspectionRepo inspectionRepo;
+    private final int blockSize;
+
+    private long next = 1;
+    private long blockEnd = 0;
+
+    // blockSize must equal the sequence's INCREMENT BY (V7__inspection_no_sequence.sql)
+    public InspectionNoGenerator(InspectionRepo inspectionRepo, @Value("${inspection.no.block-size:50}") int blockSize) {
+        this.inspectionRepo = inspectionRepo;
+        this.blockSize = blockSize;
+    }
+
+    public synchronized String nextInspectionNo() {
+        if (next > blockEnd) {
+            next = inspectionRepo.nextInspectionNoBlock();
+            blockEnd = next + blockSize - 1;
+            log.info("Reserved inspection numbers {} to {}", next, blockEnd);
+        }
+        return String.format("%05d", next++);
+    }
+}
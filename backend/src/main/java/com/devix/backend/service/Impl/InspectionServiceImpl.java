@@ -2,20 +2,31 @@ package com.devix.backend.service.Impl;
 
 import com.devix.backend.dto.InspectionRequestDto;
 import com.devix.backend.dto.InspectionResponseDto;
+import com.devix.backend.dto.InspectionSearchDto;
+import com.devix.backend.dto.PageResponseDto;
 import com.devix.backend.model.BaselineImage;
 import com.devix.backend.model.Inspection;
 import com.devix.backend.repo.BaseImageRepo;
 import com.devix.backend.repo.InspectionRepo;
+import com.devix.backend.repo.InspectionSpecifications;
 import com.devix.backend.repo.TransformerRepo;
 import com.devix.backend.service.InspectionService;
 import com.devix.backend.service.MapperService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,22 +37,33 @@ public class InspectionServiceImpl implements InspectionService {
     private final TransformerRepo transformerRepo;
     private final MapperService mapperService;
     private final BaseImageRepo baseImageRepo;
+    private final ReferenceDataCache referenceDataCache;
+    private final InspectionNoGenerator inspectionNoGenerator;
+    private final int maxPageSize;
+    private final int streamFetchSize;
 
-    public InspectionServiceImpl(TransformerRepo transformerRepo, InspectionRepo inspectionRepo, BaseImageRepo baseImageRepo) {
+    public InspectionServiceImpl(TransformerRepo transformerRepo, InspectionRepo inspectionRepo, BaseImageRepo baseImageRepo,
+                                 ReferenceDataCache referenceDataCache, InspectionNoGenerator inspectionNoGenerator,
+                                 @Value("${listing.page.max-size:500}") int maxPageSize,
+                                 @Value("${listing.stream.fetch-size:500}") int streamFetchSize) {
         this.transformerRepo = transformerRepo;
         this.inspectionRepo = inspectionRepo;
         this.baseImageRepo = baseImageRepo;
+        this.referenceDataCache = referenceDataCache;
+        this.inspectionNoGenerator = inspectionNoGenerator;
         this.mapperService = MapperService.INSTANCE;
+        this.maxPageSize = maxPageSize;
+        this.streamFetchSize = streamFetchSize;
     }
 
     @Override
     public void createInspection(InspectionRequestDto inspection) throws Exception {
         try {
             log.info("Creating inspection with details: {}", inspection);
-            if (transformerRepo.findByTransformerNo(inspection.getTransformerNo()) == null) {
+            if (referenceDataCache.findTransformer(inspection.getTransformerNo()) == null) {
                 throw new Exception("Transformer with number " + inspection.getTransformerNo() + " does not exist.");
             }
-            String inspectionNo = generateInspectionNo();
+            String inspectionNo = inspectionNoGenerator.nextInspectionNo();
             Inspection newInspection = mapperService.toInspectionEntity(inspection);
             newInspection.setInspectionNo(inspectionNo);
             inspectionRepo.save(newInspection);
@@ -124,15 +146,6 @@ public class InspectionServiceImpl implements InspectionService {
 
 
 
-    private String generateInspectionNo() {
-        Integer maxInspectionNo = inspectionRepo.findMaxInspectionNo();
-        if (maxInspectionNo == null) {
-            maxInspectionNo = 0;
-        }
-        return String.format("%05d", maxInspectionNo + 1);
-
-    }
-
     @Override
     public List<InspectionResponseDto> getInspectionsByTransformerNo(String transformerNo) throws Exception {
         try {
@@ -147,6 +160,80 @@ public class InspectionServiceImpl implements InspectionService {
         }
     }
 
+    @Override
+    public PageResponseDto<InspectionResponseDto> getInspectionsPage(String transformerNo, Long cursor, int limit) throws Exception {
+        try {
+            log.info("Fetching inspections page for transformer: {}, cursor: {}, limit: {}", transformerNo, cursor, limit);
+            return KeysetPager.page(pageQuery(transformerNo), Inspection::getId, mapperService::toInspectionDto,
+                    cursor, Math.min(Math.max(limit, 1), maxPageSize));
+        } catch (Exception e) {
+            log.error("Error fetching inspections page: {}", e.getMessage());
+            throw new Exception("Error fetching inspections: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void streamInspections(String transformerNo, OutputStream out) throws Exception {
+        try {
+            log.info("Streaming inspections for transformer: {}", transformerNo);
+            KeysetPager.streamNdjson(out, pageQuery(transformerNo), Inspection::getId, mapperService::toInspectionDto,
+                    streamFetchSize);
+        } catch (Exception e) {
+            log.error("Error streaming inspections: {}", e.getMessage());
+            throw new Exception("Error streaming inspections: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public PageResponseDto<InspectionResponseDto> searchInspections(InspectionSearchDto search, Long cursor, int limit) throws Exception {
+        try {
+            log.info("Searching inspections with filters: {}, cursor: {}, limit: {}", search, cursor, limit);
+            return KeysetPager.page(searchQuery(search), Inspection::getId, mapperService::toInspectionDto,
+                    cursor, Math.min(Math.max(limit, 1), maxPageSize));
+        } catch (Exception e) {
+            log.error("Error searching inspections: {}", e.getMessage());
+            throw new Exception("Error searching inspections: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void streamSearchInspections(InspectionSearchDto search, OutputStream out) throws Exception {
+        try {
+            log.info("Streaming inspection search with filters: {}", search);
+            KeysetPager.streamNdjson(out, searchQuery(search), Inspection::getId, mapperService::toInspectionDto,
+                    streamFetchSize);
+        } catch (Exception e) {
+            log.error("Error streaming inspection search: {}", e.getMessage());
+            throw new Exception("Error searching inspections: " + e.getMessage());
+        }
+    }
+
+    private BiFunction<Long, Limit, List<Inspection>> searchQuery(InspectionSearchDto search) throws Exception {
+        validateDate(search.getDateFrom(), "dateFrom");
+        validateDate(search.getDateTo(), "dateTo");
+        Specification<Inspection> filters = InspectionSpecifications.matching(search);
+        return (cursor, limit) -> inspectionRepo.findBy(filters.and(InspectionSpecifications.idGreaterThan(cursor)),
+                query -> query.sortBy(Sort.by("id")).limit(limit.max()).all());
+    }
+
+    private void validateDate(String date, String name) throws Exception {
+        if (date == null || date.isBlank()) {
+            return;
+        }
+        try {
+            LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new Exception(name + " must be in yyyy-MM-dd format");
+        }
+    }
+
+    private BiFunction<Long, Limit, List<Inspection>> pageQuery(String transformerNo) {
+        if (transformerNo == null) {
+            return inspectionRepo::findByIdGreaterThanOrderByIdAsc;
+        }
+        return (cursor, limit) -> inspectionRepo.findByTransformerNoAndIdGreaterThanOrderByIdAsc(transformerNo, cursor, limit);
+    }
+
     @Override
     public Map<String, String> inspectionStatus(String inspectionNo) throws Exception {
         try {
@@ -155,7 +242,7 @@ public class InspectionServiceImpl implements InspectionService {
             if (inspection == null) {
                 throw new Exception("Inspection not found");
             }
-            BaselineImage baselineImage = baseImageRepo.findByTransformerNo(inspection.getTransformerNo());
+            BaselineImage baselineImage = referenceDataCache.findBaselineImage(inspection.getTransformerNo());
             Map<String, String> statusMap = new HashMap<>();
             statusMap.put("inspectionStatus", inspection.getInspectionStatus());
             String baselineImageStatus = "no_image";
@@ -0,0 +1,58 @@
+package com.devix.backend.service.Impl;
+
+import com.devix.backend.dto.PageResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.Limit;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Keyset (id cursor) paging shared by the listing endpoints. Every page is its own short query on
+ * "id > cursor ORDER BY id", so neither a page request nor an NDJSON stream holds more than one page
+ * of entities in memory or keeps a transaction open while the client reads.
+ */
+final class KeysetPager {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private KeysetPager() {
+    }
+
+    /**
+     * Fetches one page after {@code cursor} (null for the first page). One extra row is read to
+     * decide whether there is a next page.
+     */
+    static <E, D> PageResponseDto<D> page(BiFunction<Long, Limit, List<E>> fetch, Function<E, Long> idOf,
+                                         Function<E, D> mapper, Long cursor, int limit) {
+        List<E> rows = fetch.apply(cursor == null ? 0L : cursor, Limit.of(limit + 1));
+        boolean hasMore = rows.size() > limit;
+        List<E> pageRows = hasMore ? rows.subList(0, limit) : rows;
+        Long nextCursor = hasMore ? idOf.apply(pageRows.get(pageRows.size() - 1)) : null;
+        return new PageResponseDto<>(pageRows.stream().map(mapper).toList(), nextCursor);
+    }
+
+    /**
+     * Writes every row as one JSON document per line, reading {@code fetchSize} rows at a time and
+     * flushing after each page.
+     */
+    static <E, D> void streamNdjson(OutputStream out, BiFunction<Long, Limit, List<E>> fetch,
+                                    Function<E, Long> idOf, Function<E, D> mapper, int fetchSize) throws IOException {
+        long cursor = 0L;
+        List<E> rows;
+        do {
+            rows = fetch.apply(cursor, Limit.of(fetchSize));
+            for (E row : rows) {
+                out.write(OBJECT_MAPPER.writeValueAsBytes(mapper.apply(row)));
+                out.write('\n');
+            }
+            out.flush();
+            if (!rows.isEmpty()) {
+                cursor = idOf.apply(rows.get(rows.size() - 1));
+            }
+        } while (rows.size() == fetchSize);
+    }
+}
@@ -1,57 +1,345 @@
 package com.devix.backend.service.Impl;
 
+import com.devix.backend.model.StoredImage;
+import com.devix.backend.repo.StoredImageRepo;
+import com.devix.backend.service.Bulkhead;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 @Service
 @Slf4j
 public class LocalImageService {
 
+    private static final Pattern DIGEST_NAME = Pattern.compile("[0-9a-f]{64}");
+
     @Value("${image.upload.dir}")
     private String uploadDir;
 
+    private final StoredImageRepo storedImageRepo;
+    private final ImageDerivativeService imageDerivativeService;
+    private final ImageCacheService imageCacheService;
+    private final ThreadPoolTaskExecutor imageCleanupExecutor;
+    private final Bulkhead imageStoreBulkhead;
+    private final Timer uploadTimer;
+    private final DistributionSummary uploadBytes;
+    private final Timer readTimer;
+    private final DistributionSummary readBytes;
+
+    public LocalImageService(StoredImageRepo storedImageRepo, ImageDerivativeService imageDerivativeService,
+                             ImageCacheService imageCacheService,
+                             @Qualifier("imageCleanupExecutor") ThreadPoolTaskExecutor imageCleanupExecutor,
+                             @Qualifier("imageStoreBulkhead") Bulkhead imageStoreBulkhead,
+                             MeterRegistry meterRegistry) {
+        this.storedImageRepo = storedImageRepo;
+        this.imageDerivativeService = imageDerivativeService;
+        this.imageCacheService = imageCacheService;
+        this.imageCleanupExecutor = imageCleanupExecutor;
+        this.imageStoreBulkhead = imageStoreBulkhead;
+        this.uploadTimer = ioTimer("upload", meterRegistry);
+        this.uploadBytes = ioBytes("upload", meterRegistry);
+        this.readTimer = ioTimer("read", meterRegistry);
+        this.readBytes = ioBytes("read", meterRegistry);
+    }
+
+    private static Timer ioTimer(String operation, MeterRegistry meterRegistry) {
+        return Timer.builder("image.io")
+                .description("Image store reads and writes")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static DistributionSummary ioBytes(String operation, MeterRegistry meterRegistry) {
+        return DistributionSummary.builder("image.io.bytes")
+                .description("Bytes read from or written to the image store")
+                .baseUnit("bytes")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stores an upload under its SHA-256 digest. The digest is computed while the upload streams
+     * to a temp file, so identical content is written to disk only once; later uploads of the
+     * same bytes just bump the reference count and reuse the existing path.
+     */
     public String uploadImage(MultipartFile file) {
-        try {
+        try (InputStream in = file.getInputStream()) {
+            return uploadImage(in, Objects.requireNonNull(file.getOriginalFilename()));
+        } catch (IOException e) {
+            log.error("Error uploading image: {}", e.getMessage(), e);
+            throw new RuntimeException("Could not upload the file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Same as {@link #uploadImage(MultipartFile)} for content that is not a multipart part, such as a
+     * ZIP entry. Safe to call from several threads at once; the image store bulkhead bounds how many write.
+     */
+    public String uploadImage(InputStream content, String fileName) {
+        Path tempPath = null;
+        Timer.Sample sample = Timer.start();
+        try (Bulkhead.Permit permit = imageStoreBulkhead.acquire()) {
             // Ensure directory exists
             Files.createDirectories(Paths.get(uploadDir));
 
-            // Get extension
-            String originalName = StringUtils.cleanPath(Objects.requireNonNull(file.getOriginalFilename()));
-            String extension = "";
-            if (originalName.contains(".")) {
-                extension = originalName.substring(originalName.lastIndexOf("."));
+            // Hash while copying to a temp file in the same directory so the final move is atomic
+            tempPath = Files.createTempFile(Paths.get(uploadDir), ".upload-", ".tmp");
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            long size;
+            try (InputStream in = new DigestInputStream(content, sha256)) {
+                size = Files.copy(in, tempPath, StandardCopyOption.REPLACE_EXISTING);
             }
+            String digest = HexFormat.of().formatHex(sha256.digest());
+            uploadBytes.record(size);
+            return commitToStore(tempPath, digest, size, extensionOf(fileName), true);
+
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.error("Error uploading image: {}", e.getMessage(), e);
+            throw new RuntimeException("Could not upload the file: " + e.getMessage());
+
+        } finally {
+            deleteQuietly(tempPath);
+            sample.stop(uploadTimer);
+        }
+    }
 
-            // Generate unique file name
-            String uniqueName = UUID.randomUUID().toString() + extension;
-            Path filePath = Paths.get(uploadDir, uniqueName);
+    /**
+     * Moves a fully written file (a finished resumable upload) into the store and returns its digest.
+     * The stored image starts without references; it is attached later through the usual
+     * {@code *ImageHash} parameters. The file must be in the upload directory's file system.
+     */
+    public String adoptFile(Path file, String fileName) {
+        // Acquired outside the try so a rejected call leaves the upload in place for a retry
+        Bulkhead.Permit permit = imageStoreBulkhead.acquire();
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            long size = 0;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                int read;
+                while ((read = channel.read(buffer)) >= 0) {
+                    buffer.flip();
+                    sha256.update(buffer);
+                    buffer.clear();
+                    size += read;
+                }
+            }
+            String digest = HexFormat.of().formatHex(sha256.digest());
+            commitToStore(file, digest, size, extensionOf(fileName), false);
+            return digest;
 
-            // Save file locally
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.error("Error storing upload {}: {}", file, e.getMessage(), e);
+            throw new RuntimeException("Could not store the file: " + e.getMessage());
 
-            return filePath.toString().replace("\\", "/");
+        } finally {
+            deleteQuietly(file);
+            permit.close();
+        }
+    }
 
+    // Registers hashed content under its digest, reusing the existing file when the content is already stored
+    private String commitToStore(Path tempPath, String digest, long size, String extension, boolean reference) throws IOException {
+        String existing = reference ? attachExisting(digest) : getPathByDigest(digest);
+        if (existing != null) {
+            log.info("Image {} already stored, reusing {}", digest, existing);
+            return existing;
+        }
+
+        Path filePath = Paths.get(uploadDir, digest + extension);
+        try {
+            Files.move(tempPath, filePath, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            log.info("Image file {} already on disk", filePath);
+        }
+        String path = filePath.toString().replace("\\", "/");
+
+        try {
+            storedImageRepo.save(new StoredImage(digest, path, size, reference ? 1 : 0));
+        } catch (DataIntegrityViolationException e) {
+            // Another upload of the same content registered it first
+            existing = reference ? attachExisting(digest) : getPathByDigest(digest);
+            if (existing != null) {
+                return existing;
+            }
+            throw e;
+        }
+        return path;
+    }
+
+    private static String extensionOf(String fileName) {
+        String originalName = StringUtils.cleanPath(fileName);
+        return originalName.contains(".") ? originalName.substring(originalName.lastIndexOf(".")).toLowerCase() : "";
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
         } catch (IOException e) {
-            log.error("Error uploading image: {}", e.getMessage(), e);
-            throw new RuntimeException("Could not upload the file: " + e.getMessage());
+            log.warn("Could not delete temp upload {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Uploads {@code file} when it is present, otherwise attaches the already stored image with {@code digest}.
+     */
+    public String storeImage(MultipartFile file, String digest) {
+        if (file != null && !file.isEmpty()) {
+            return uploadImage(file);
+        }
+        String path = attachExisting(digest);
+        if (path == null) {
+            throw new RuntimeException("No image uploaded and no stored image with hash: " + digest);
+        }
+        return path;
+    }
+
+    /**
+     * Adds a reference to an already stored image, letting clients skip re-sending bytes
+     * the server has. Returns the stored path, or null when the digest is unknown.
+     */
+    public String attachExisting(String digest) {
+        if (digest == null || storedImageRepo.incrementRefCount(digest.toLowerCase()) == 0) {
+            return null;
+        }
+        return storedImageRepo.findByDigest(digest.toLowerCase()).getPath();
+    }
+
+    public boolean exists(String digest) {
+        return digest != null && storedImageRepo.findByDigest(digest.toLowerCase()) != null;
+    }
+
+    public String getPathByDigest(String digest) {
+        StoredImage storedImage = digest == null ? null : storedImageRepo.findByDigest(digest.toLowerCase());
+        return storedImage != null ? storedImage.getPath() : null;
+    }
+
+    /**
+     * Returns the immutable content URL for a stored path, or {@code fallbackUrl} for files that
+     * were not written by the content-addressed store (e.g. seed images).
+     */
+    public String imageUrl(String path, String fallbackUrl) {
+        String digest = digestOf(path);
+        return digest != null ? "/api/image/" + digest : fallbackUrl;
+    }
 
+    /**
+     * Releases {@code paths} on the cleanup executor once the surrounding transaction commits (right
+     * away when there is none), so bulk deletes do not wait on file I/O and a rollback keeps the files.
+     */
+    public void releaseImagesAfterCommit(Collection<String> paths) {
+        List<String> toRelease = paths.stream().filter(Objects::nonNull).toList();
+        if (toRelease.isEmpty()) {
+            return;
+        }
+        Runnable release = () -> imageCleanupExecutor.execute(() -> toRelease.forEach(this::releaseImage));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    release.run();
+                }
+            });
+        } else {
+            release.run();
         }
     }
 
+    /**
+     * Drops one reference to a stored image and deletes the file and its derivatives
+     * once nothing points at it any more.
+     * <p>
+     * The file is moved aside before the row is claimed, as in {@link OrphanImageCollector}: an
+     * attach that wins the race keeps the row and the file is moved back, while an upload of the
+     * same content after the claim writes a new file instead of losing it to this delete.
+     */
+    public void releaseImage(String path) {
+        if (path == null || storedImageRepo.decrementRefCount(path) == 0) {
+            return;
+        }
+        StoredImage storedImage = storedImageRepo.findByPath(path);
+        if (storedImage == null || storedImage.getRefCount() > 0) {
+            return;
+        }
+        Path file = Paths.get(path);
+        Path tombstone = file.resolveSibling(OrphanImageCollector.TOMBSTONE_PREFIX + file.getFileName());
+        try {
+            boolean movedAside = Files.exists(file);
+            if (movedAside) {
+                Files.move(file, tombstone, StandardCopyOption.ATOMIC_MOVE);
+            }
+            if (storedImageRepo.deleteUnreferencedByPath(path) != 1) {
+                // Attached again since the reference count was read
+                if (movedAside) {
+                    Files.move(tombstone, file, StandardCopyOption.ATOMIC_MOVE);
+                }
+                return;
+            }
+            Files.deleteIfExists(tombstone);
+            imageCacheService.invalidate(path);
+            imageDerivativeService.deleteDerivatives(path);
+            log.info("Deleted unreferenced image {}", path);
+        } catch (IOException e) {
+            log.error("Error deleting image {}: {}", path, e.getMessage(), e);
+        }
+    }
+
+    private String digestOf(String path) {
+        if (path == null || path.isEmpty()) {
+            return null;
+        }
+        String fileName = Paths.get(path).getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        String name = dot > 0 ? fileName.substring(0, dot) : fileName;
+        return DIGEST_NAME.matcher(name).matches() ? name : null;
+    }
+
 
     public String getImage(String path) {
+        Timer.Sample sample = Timer.start();
         try {
             if (path == null || path.isEmpty()) {
                 return null;
@@ -62,15 +350,169 @@ public class LocalImageService {
             }
 
             Resource resFile = new FileSystemResource(file);
-            byte[] bytes = resFile.getInputStream().readAllBytes();
+            byte[] bytes;
+            try (Bulkhead.Permit permit = imageStoreBulkhead.acquire(); InputStream in = resFile.getInputStream()) {
+                bytes = in.readAllBytes();
+            }
+            readBytes.record(bytes.length);
             return Base64.getEncoder().encodeToString(bytes);
 
         } catch (Exception e) {
             log.error("Error retrieving image: {}", e.getMessage(), e);
             throw new RuntimeException("Could not retrieve the file: " + e.getMessage());
+        } finally {
+            sample.stop(readTimer);
         }
     }
 
+    /**
+     * Streams an image file as raw bytes. Small hot files come from the byte cache, others are copied
+     * with FileChannel.transferTo so they are never buffered on the heap. A single HTTP Range is
+     * honoured, and a strong ETag lets clients revalidate with If-None-Match instead of downloading
+     * the image again.
+     */
+    public ResponseEntity<StreamingResponseBody> streamImage(String path, String rangeHeader, String ifNoneMatch) {
+        return streamImage(path, rangeHeader, ifNoneMatch, false);
+    }
 
-}
+    /**
+     * Same as {@link #streamImage(String, String, String)}; when {@code immutable} is set the URL is bound to
+     * one piece of content, so the response may be cached forever.
+     */
+    public ResponseEntity<StreamingResponseBody> streamImage(String path, String rangeHeader, String ifNoneMatch, boolean immutable) {
+        try {
+            if (path == null || path.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            Path file = Paths.get(path);
+            if (!Files.isRegularFile(file)) {
+                return ResponseEntity.notFound().build();
+            }
+
+            long length = Files.size(file);
+            // Content-addressed files already carry their SHA-256 in the name
+            String digest = digestOf(path);
+            String eTag = digest != null
+                    ? "\"" + digest + "\""
+                    : "\"" + Long.toHexString(length) + "-" + Long.toHexString(Files.getLastModifiedTime(file).toMillis()) + "\"";
+            CacheControl cacheControl = immutable
+                    ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+                    : CacheControl.noCache();
+            MediaType mediaType = MediaTypeFactory.getMediaType(file.getFileName().toString())
+                    .orElse(MediaType.APPLICATION_OCTET_STREAM);
+
+            if (ifNoneMatchHits(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+            }
+
+            long start = 0;
+            long count = length;
+            HttpStatus status = HttpStatus.OK;
+            if (rangeHeader != null && !rangeHeader.isEmpty()) {
+                try {
+                    List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                    if (ranges.size() != 1) {
+                        throw new IllegalArgumentException("Only a single range is supported");
+                    }
+                    start = ranges.get(0).getRangeStart(length);
+                    count = ranges.get(0).getRangeEnd(length) - start + 1;
+                    // e.g. bytes=1000- on a shorter file, or the empty suffix bytes=-0
+                    if (start >= length || count <= 0) {
+                        throw new IllegalArgumentException("Range not satisfiable: " + rangeHeader);
+                    }
+                    status = HttpStatus.PARTIAL_CONTENT;
+                } catch (IllegalArgumentException e) {
+                    return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                            .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                            .build();
+                }
+            }
+
+            long position = start;
+            long byteCount = count;
+            ByteBuffer cached = imageCacheService.get(file, length);
+            // Read metrics are taken while the body is written, the only place the bytes are actually read
+            StreamingResponseBody body = outputStream -> {
+                Timer.Sample sample = Timer.start();
+                long sent = 0;
+                try {
+                    WritableByteChannel target = Channels.newChannel(outputStream);
+                    if (cached != null && cached.capacity() == length) {
+                        ByteBuffer slice = cached.duplicate();
+                        slice.position((int) position).limit((int) (position + byteCount));
+                        while (slice.hasRemaining()) {
+                            sent += target.write(slice);
+                        }
+                        return;
+                    }
+                    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                        long offset = position;
+                        long remaining = byteCount;
+                        while (remaining > 0) {
+                            long written = channel.transferTo(offset, remaining, target);
+                            if (written <= 0) {
+                                break;
+                            }
+                            offset += written;
+                            remaining -= written;
+                            sent += written;
+                        }
+                    }
+                } finally {
+                    readBytes.record(sent);
+                    sample.stop(readTimer);
+                }
+            };
+
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(status)
+                    .contentType(mediaType)
+                    .contentLength(count)
+                    .eTag(eTag)
+                    .cacheControl(cacheControl)
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes");
+            if (status == HttpStatus.PARTIAL_CONTENT) {
+                builder.header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (start + count - 1) + "/" + length);
+            }
+            return builder.body(body);
+
+        } catch (IOException e) {
+            log.error("Error streaming image: {}", e.getMessage(), e);
+            throw new RuntimeException("Could not stream the file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * If-None-Match per RFC 9110: {@code *} or a comma-separated list of entity tags, compared weakly,
+     * so {@code W/"x"} matches {@code "x"}. Tags are read quote to quote since they may contain commas.
+     */
+    static boolean ifNoneMatchHits(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        if (ifNoneMatch.trim().equals("*")) {
+            return true;
+        }
+        int i = 0;
+        while (i < ifNoneMatch.length()) {
+            char c = ifNoneMatch.charAt(i);
+            if (c == ',' || Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            if (ifNoneMatch.startsWith("W/", i)) {
+                i += 2;
+            }
+            int end = ifNoneMatch.indexOf('"', i + 1);
+            if (i >= ifNoneMatch.length() || ifNoneMatch.charAt(i) != '"' || end < 0) {
+                // Malformed: never treat the client's copy as current
+                return false;
+            }
+            if (ifNoneMatch.regionMatches(i, eTag, 0, eTag.length()) && end + 1 == i + eTag.length()) {
+                return true;
+            }
+            i = end + 1;
+        }
+        return false;
+    }
 
+}
@@ -0,0 +1,259 @@
+package com.devix.backend.service.Impl;
+
+import com.devix.backend.model.BaselineImage;
+import com.devix.backend.model.StoredImage;
+import com.devix.backend.repo.BaseImageRepo;
+import com.devix.backend.repo.InspectionImageRepo;
+import com.devix.backend.repo.StoredImageRepo;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Reconciles the upload directory with the image URL columns and deletes files nothing points at.
+ * Each run examines at most one batch of file names, read from a directory listing that stays open
+ * for the whole pass, so a large store is swept a little at a time and every run costs one batch of
+ * directory reads instead of a walk over the whole directory. Files younger
+ * than the grace period are left alone because uploads write the file before its row is saved.
+ */
+@Service
+@Slf4j
+public class OrphanImageCollector {
+
+    // Name prefix of files moved aside while their row is claimed, here and in LocalImageService.releaseImage
+    static final String TOMBSTONE_PREFIX = ".gc-";
+
+    private final InspectionImageRepo inspectionImageRepo;
+    private final BaseImageRepo baseImageRepo;
+    private final StoredImageRepo storedImageRepo;
+    private final ImageDerivativeService imageDerivativeService;
+    private final ImageCacheService imageCacheService;
+    private final Path uploadDir;
+    private final boolean enabled;
+    private final Duration gracePeriod;
+    private final int batchSize;
+
+    // Listing of the current pass; the next batch continues where the previous one stopped
+    private DirectoryStream<Path> passEntries;
+    private Iterator<Path> passIterator;
+    private long passBytesReclaimed;
+
+    private final AtomicLong filesScanned = new AtomicLong();
+    private final AtomicLong filesDeleted = new AtomicLong();
+    private final AtomicLong bytesReclaimed = new AtomicLong();
+    private final AtomicLong completedPasses = new AtomicLong();
+    private volatile long lastPassBytesReclaimed;
+    private volatile Instant lastPassCompletedAt;
+
+    public OrphanImageCollector(InspectionImageRepo inspectionImageRepo, BaseImageRepo baseImageRepo,
+                                StoredImageRepo storedImageRepo, ImageDerivativeService imageDerivativeService,
+                                ImageCacheService imageCacheService,
+                                @Value("${image.upload.dir}") String uploadDir,
+                                @Value("${image.gc.enabled:true}") boolean enabled,
+                                @Value("${image.gc.grace-period-hours:24}") long gracePeriodHours,
+                                @Value("${image.gc.batch-size:200}") int batchSize) {
+        this.inspectionImageRepo = inspectionImageRepo;
+        this.baseImageRepo = baseImageRepo;
+        this.storedImageRepo = storedImageRepo;
+        this.imageDerivativeService = imageDerivativeService;
+        this.imageCacheService = imageCacheService;
+        this.uploadDir = Paths.get(uploadDir);
+        this.enabled = enabled;
+        this.gracePeriod = Duration.ofHours(gracePeriodHours);
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    @Scheduled(fixedDelayString = "${image.gc.interval-ms:60000}", initialDelayString = "${image.gc.initial-delay-ms:300000}")
+    public void collect() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            collectBatch();
+        } catch (Exception e) {
+            log.error("Error collecting orphaned images: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Examines the next batch of files in the upload directory and deletes the unreferenced ones.
+     * Returns the number of bytes reclaimed.
+     */
+    synchronized long collectBatch() throws IOException {
+        if (!Files.isDirectory(uploadDir)) {
+            return 0;
+        }
+        List<String> names = nextNames();
+        filesScanned.addAndGet(names.size());
+
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        Map<String, Path> candidates = new LinkedHashMap<>();
+        for (String name : names) {
+            Path file = uploadDir.resolve(name);
+            if (Files.isRegularFile(file, LinkOption.NOFOLLOW_LINKS) && isOlderThan(file, cutoff)) {
+                candidates.put(storePath(file), file);
+            }
+        }
+
+        long reclaimed = 0;
+        if (!candidates.isEmpty()) {
+            Set<String> referenced = referencedPaths(candidates);
+            Map<String, StoredImage> stored = storedImageRepo.findAllByPathIn(candidates.keySet()).stream()
+                    .collect(Collectors.toMap(StoredImage::getPath, Function.identity(), (a, b) -> a));
+            for (Map.Entry<String, Path> candidate : candidates.entrySet()) {
+                StoredImage storedImage = stored.get(candidate.getKey());
+                // Still counted by the store: either in use or an attach is in flight
+                if (referenced.contains(candidate.getKey()) || (storedImage != null && storedImage.getRefCount() > 0)) {
+                    continue;
+                }
+                reclaimed += reclaim(candidate.getKey(), candidate.getValue(), storedImage != null, cutoff);
+            }
+        }
+        passBytesReclaimed += reclaimed;
+
+        if (!passIterator.hasNext()) {
+            endPass();
+            completedPasses.incrementAndGet();
+            lastPassBytesReclaimed = passBytesReclaimed;
+            lastPassCompletedAt = Instant.now();
+            log.info("Orphaned image sweep finished, reclaimed {} bytes", passBytesReclaimed);
+            passBytesReclaimed = 0;
+        }
+        return reclaimed;
+    }
+
+    @PreDestroy
+    synchronized void endPass() {
+        if (passEntries != null) {
+            try {
+                passEntries.close();
+            } catch (IOException e) {
+                log.warn("Could not close the upload directory listing: {}", e.getMessage());
+            }
+        }
+        passEntries = null;
+        passIterator = null;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("gracePeriodHours", gracePeriod.toHours());
+        stats.put("filesScanned", filesScanned.get());
+        stats.put("filesDeleted", filesDeleted.get());
+        stats.put("bytesReclaimed", bytesReclaimed.get());
+        stats.put("completedPasses", completedPasses.get());
+        stats.put("lastPassBytesReclaimed", lastPassBytesReclaimed);
+        stats.put("lastPassCompletedAt", lastPassCompletedAt != null ? lastPassCompletedAt.toString() : null);
+        return stats;
+    }
+
+    // Up to batchSize further names of the current pass, opening the listing when a pass starts; only
+    // names are read here, files are stat'ed later. Files added during a pass may be left to the next one.
+    private List<String> nextNames() throws IOException {
+        if (passIterator == null) {
+            passEntries = Files.newDirectoryStream(uploadDir);
+            passIterator = passEntries.iterator();
+        }
+        List<String> names = new ArrayList<>(batchSize);
+        try {
+            while (names.size() < batchSize && passIterator.hasNext()) {
+                names.add(passIterator.next().getFileName().toString());
+            }
+        } catch (DirectoryIteratorException e) {
+            // Start the next run with a fresh listing
+            endPass();
+            throw e.getCause();
+        }
+        return names;
+    }
+
+    private Set<String> referencedPaths(Map<String, Path> candidates) {
+        // URLs may have been saved with platform separators, so look up both spellings
+        Set<String> lookup = new HashSet<>(candidates.keySet());
+        candidates.values().forEach(file -> lookup.add(file.toString()));
+
+        Set<String> referenced = new HashSet<>();
+        inspectionImageRepo.findReferencedThermalImageUrls(lookup).forEach(url -> referenced.add(normalize(url)));
+        for (BaselineImage baselineImage : baseImageRepo.findAllReferencing(lookup)) {
+            Stream.of(baselineImage.getSunnyImageUrl(), baselineImage.getCloudyImageUrl(), baselineImage.getRainyImageUrl())
+                    .filter(Objects::nonNull)
+                    .forEach(url -> referenced.add(normalize(url)));
+        }
+        return referenced;
+    }
+
+    /**
+     * Moves the file aside before claiming its row so an upload that re-creates the same content
+     * concurrently either keeps the file (the claim fails and it is moved back) or writes a new one.
+     */
+    private long reclaim(String path, Path file, boolean stored, Instant cutoff) {
+        Path tombstone = file.resolveSibling(TOMBSTONE_PREFIX + file.getFileName());
+        try {
+            long size = Files.size(file);
+            Files.move(file, tombstone, StandardCopyOption.ATOMIC_MOVE);
+
+            // The move keeps the modification time, so a file replaced since the first check shows up as fresh
+            boolean claimed = isOlderThan(tombstone, cutoff)
+                    && (stored ? storedImageRepo.deleteUnreferencedByPath(path) == 1 : storedImageRepo.findByPath(path) == null);
+            if (!claimed) {
+                Files.move(tombstone, file, StandardCopyOption.ATOMIC_MOVE);
+                return 0;
+            }
+            Files.delete(tombstone);
+            imageCacheService.invalidate(path);
+            imageDerivativeService.deleteDerivatives(path);
+
+            filesDeleted.incrementAndGet();
+            bytesReclaimed.addAndGet(size);
+            log.info("Deleted orphaned image {} ({} bytes)", path, size);
+            return size;
+        } catch (IOException e) {
+            log.warn("Could not delete orphaned image {}: {}", path, e.getMessage());
+            return 0;
+        }
+    }
+
+    private static boolean isOlderThan(Path file, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(file, LinkOption.NOFOLLOW_LINKS).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            // Gone or unreadable: not ours to delete this round
+            return false;
+        }
+    }
+
+    // Same spelling LocalImageService stores in the URL columns
+    private static String storePath(Path file) {
+        return normalize(file.toString());
+    }
+
+    private static String normalize(String path) {
+        return path.replace("\\", "/");
+    }
+}
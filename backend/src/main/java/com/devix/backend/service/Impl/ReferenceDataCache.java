@@ -0,0 +1,81 @@
+package com.devix.backend.service.Impl;
+
+import com.devix.backend.Config.CacheConfig;
+import com.devix.backend.model.BaselineImage;
+import com.devix.backend.model.Transformer;
+import com.devix.backend.repo.BaseImageRepo;
+import com.devix.backend.repo.TransformerRepo;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cached transformerNo lookups for the read paths. The returned entities are shared between
+ * requests and must not be modified; update/delete paths read through the repositories and
+ * evict here once they have written.
+ */
+@Service
+@Slf4j
+public class ReferenceDataCache {
+
+    private final TransformerRepo transformerRepo;
+    private final BaseImageRepo baseImageRepo;
+    private final CacheManager cacheManager;
+
+    public ReferenceDataCache(TransformerRepo transformerRepo, BaseImageRepo baseImageRepo, CacheManager cacheManager) {
+        this.transformerRepo = transformerRepo;
+        this.baseImageRepo = baseImageRepo;
+        this.cacheManager = cacheManager;
+    }
+
+    // sync = true loads through Caffeine, so misses are single-flight and load times are recorded
+    @Cacheable(cacheNames = CacheConfig.TRANSFORMERS, key = "#transformerNo", sync = true)
+    public Transformer findTransformer(String transformerNo) {
+        return transformerRepo.findByTransformerNo(transformerNo);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.BASELINE_IMAGES, key = "#transformerNo", sync = true)
+    public BaselineImage findBaselineImage(String transformerNo) {
+        return baseImageRepo.findByTransformerNo(transformerNo);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.TRANSFORMERS, key = "#transformerNo")
+    public void evictTransformer(String transformerNo) {
+        log.debug("Evicted cached transformer {}", transformerNo);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.BASELINE_IMAGES, key = "#transformerNo")
+    public void evictBaselineImage(String transformerNo) {
+        log.debug("Evicted cached baseline image {}", transformerNo);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String name : List.of(CacheConfig.TRANSFORMERS, CacheConfig.BASELINE_IMAGES)) {
+            CaffeineCache cache = (CaffeineCache) cacheManager.getCache(name);
+            if (cache == null) {
+                continue;
+            }
+            CacheStats stats = cache.getNativeCache().stats();
+            Map<String, Object> cacheStats = new LinkedHashMap<>();
+            cacheStats.put("entries", cache.getNativeCache().estimatedSize());
+            cacheStats.put("hitCount", stats.hitCount());
+            cacheStats.put("missCount", stats.missCount());
+            cacheStats.put("hitRate", stats.hitRate());
+            cacheStats.put("loadCount", stats.loadCount());
+            cacheStats.put("averageLoadMillis", stats.averageLoadPenalty() / 1_000_000.0);
+            cacheStats.put("totalLoadMillis", stats.totalLoadTime() / 1_000_000.0);
+            cacheStats.put("evictionCount", stats.evictionCount());
+            result.put(name, cacheStats);
+        }
+        return result;
+    }
+}
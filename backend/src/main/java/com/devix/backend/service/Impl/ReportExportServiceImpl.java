@@ -0,0 +1,185 @@
+package com.devix.backend.service.Impl;
+
+import com.devix.backend.dto.InspectionView;
+import com.devix.backend.dto.ReportExportRequestDto;
+import com.devix.backend.model.AiResults;
+import com.devix.backend.model.EvalResults;
+import com.devix.backend.model.Inspection;
+import com.devix.backend.repo.AiResultsRepo;
+import com.devix.backend.repo.EvalResultsRepo;
+import com.devix.backend.repo.InspectionRepo;
+import com.devix.backend.service.ReportExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+@Service
+@Slf4j
+public class ReportExportServiceImpl implements ReportExportService {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String CSV_HEADER = "inspection_no,transformer_no,inspection_date,inspection_branch," +
+            "baseline_image_id,inspection_image_id,source,fault_type,fault_severity,fault_confidence," +
+            "x_coordinate,y_coordinate,bbox,area_px,evaluated_by,evaluated_date\n";
+
+    private final InspectionRepo inspectionRepo;
+    private final AiResultsRepo aiResultsRepo;
+    private final EvalResultsRepo evalResultsRepo;
+    private final EntityManager entityManager;
+    private final int chunkSize;
+
+    public ReportExportServiceImpl(InspectionRepo inspectionRepo, AiResultsRepo aiResultsRepo,
+                                   EvalResultsRepo evalResultsRepo, EntityManager entityManager,
+                                   @Value("${report.export.chunk-size:200}") int chunkSize) {
+        this.inspectionRepo = inspectionRepo;
+        this.aiResultsRepo = aiResultsRepo;
+        this.evalResultsRepo = evalResultsRepo;
+        this.entityManager = entityManager;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Streams the inspection rows from one database cursor and writes them in chunks of
+     * {@code chunkSize} inspections: each chunk loads its AI and eval results with one query per
+     * table, is written, and is then detached, so memory does not grow with the export size.
+     * Read-only: Hibernate keeps no dirty-checking snapshots for the streamed entities.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportReports(ReportExportRequestDto filter, String format, boolean zip, OutputStream out) throws Exception {
+        try {
+            log.info("Exporting reports as {} (zip: {}) for filter: {}", format, zip, filter);
+            if (!NDJSON.equals(format) && !CSV.equals(format)) {
+                throw new Exception("Unsupported export format: " + format);
+            }
+            OutputStream target = out;
+            ZipOutputStream zipOut = null;
+            if (zip) {
+                zipOut = new ZipOutputStream(out);
+                zipOut.putNextEntry(new ZipEntry("reports." + format));
+                target = zipOut;
+            }
+            if (CSV.equals(format)) {
+                target.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+            }
+
+            boolean allTransformers = filter.getTransformerNos() == null || filter.getTransformerNos().isEmpty();
+            int exported = 0;
+            try (Stream<Object[]> rows = inspectionRepo.streamInspectionViews(blankToNull(filter.getDateFrom()),
+                    blankToNull(filter.getDateTo()), blankToNull(filter.getTransformerRegion()), allTransformers,
+                    allTransformers ? List.of("") : filter.getTransformerNos())) {
+                Iterator<Object[]> iterator = rows.iterator();
+                Map<String, List<Object[]>> chunk = new LinkedHashMap<>();
+                while (iterator.hasNext()) {
+                    Object[] row = iterator.next();
+                    String inspectionNo = ((Inspection) row[0]).getInspectionNo();
+                    // Rows of one inspection are contiguous, so a full chunk is complete once the next one starts
+                    if (!chunk.containsKey(inspectionNo) && chunk.size() >= chunkSize) {
+                        exported += writeChunk(chunk, format, target);
+                        chunk.clear();
+                    }
+                    chunk.computeIfAbsent(inspectionNo, no -> new ArrayList<>()).add(row);
+                }
+                if (!chunk.isEmpty()) {
+                    exported += writeChunk(chunk, format, target);
+                }
+            }
+
+            if (zipOut != null) {
+                zipOut.closeEntry();
+                zipOut.finish();
+            }
+            target.flush();
+            log.info("Exported {} inspection reports", exported);
+        } catch (Exception e) {
+            log.error("Error exporting reports: {}", e.getMessage());
+            throw new Exception("Error exporting reports: " + e.getMessage());
+        }
+    }
+
+    private int writeChunk(Map<String, List<Object[]>> chunk, String format, OutputStream out) throws IOException {
+        Map<String, List<AiResults>> aiResults = aiResultsRepo.findAllByInspectionNoInOrderByIdAsc(chunk.keySet())
+                .stream().collect(Collectors.groupingBy(AiResults::getInspectionNo));
+        Map<String, List<EvalResults>> evalResults = evalResultsRepo.findAllByInspectionNoInOrderByIdAsc(chunk.keySet())
+                .stream().collect(Collectors.groupingBy(EvalResults::getInspectionNo));
+        for (Map.Entry<String, List<Object[]>> inspection : chunk.entrySet()) {
+            String inspectionNo = inspection.getKey();
+            writeReport(InspectionView.fromRows(inspection.getValue(), aiResults.getOrDefault(inspectionNo, List.of()),
+                    evalResults.getOrDefault(inspectionNo, List.of())), format, out);
+        }
+        // Drop the written entities from the persistence context
+        entityManager.clear();
+        return chunk.size();
+    }
+
+    private void writeReport(InspectionView view, String format, OutputStream out) throws IOException {
+        if (NDJSON.equals(format)) {
+            out.write(OBJECT_MAPPER.writeValueAsBytes(InspectionImageServiceImpl.buildReport(view)));
+            out.write('\n');
+            return;
+        }
+        StringBuilder csv = new StringBuilder();
+        for (EvalResults result : view.getEvalResults()) {
+            appendCsvRow(csv, view, "evaluation", result.getFaultType(), result.getFaultSeverity(),
+                    result.getFaultConfidence(), result.getXCoordinate(), result.getYCoordinate(), result.getBbox(),
+                    result.getAreaPx(), result.getEvaluatedBy(), result.getEvaluatedDate());
+        }
+        for (AiResults result : view.getAiResults()) {
+            appendCsvRow(csv, view, "model", result.getFaultType(), result.getFaultSeverity(),
+                    result.getFaultConfidence(), result.getXCoordinate(), result.getYCoordinate(), result.getBbox(),
+                    result.getAreaPx(), null, null);
+        }
+        if (csv.isEmpty()) {
+            // Inspections without anomalies still get a line
+            appendCsvRow(csv, view, null, null, null, null, null, null, null, null, null, null);
+        }
+        out.write(csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void appendCsvRow(StringBuilder csv, InspectionView view, Object... anomaly) {
+        Inspection inspection = view.getInspection();
+        List<Object> values = new ArrayList<>();
+        values.add(inspection.getInspectionNo());
+        values.add(inspection.getTransformerNo());
+        values.add(inspection.getInspectionDate());
+        values.add(inspection.getInspectionBranch());
+        values.add(view.getBaselineImage() != null ? view.getBaselineImage().getId() : null);
+        values.add(view.getInspectionImage() != null ? view.getInspectionImage().getId() : null);
+        Collections.addAll(values, anomaly);
+        csv.append(values.stream().map(ReportExportServiceImpl::csvValue).collect(Collectors.joining(","))).append('\n');
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof List<?> list
+                ? list.stream().map(String::valueOf).collect(Collectors.joining(" "))
+                : String.valueOf(value);
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
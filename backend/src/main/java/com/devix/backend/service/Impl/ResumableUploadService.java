@@ -0,0 +1,171 @@
+package com.devix.backend.service.Impl;
+
+import com.devix.backend.model.UploadSession;
+import com.devix.backend.repo.UploadSessionRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * tus-style resumable uploads: create a session with the total length, append chunks at the
+ * current offset, then finalize into the content-addressed store. Chunks are copied from the
+ * request stream straight into the session's .part file with FileChannel.transferFrom, so memory
+ * does not depend on file size. The offset is the .part file's size, so after a dropped
+ * connection the client asks for it and resends only the missing bytes.
+ */
+@Service
+@Slf4j
+public class ResumableUploadService {
+
+    private final UploadSessionRepo uploadSessionRepo;
+    private final LocalImageService localImageService;
+    private final Path partialDir;
+    private final long maxUploadBytes;
+    private final long sessionTtlHours;
+
+    public ResumableUploadService(UploadSessionRepo uploadSessionRepo, LocalImageService localImageService,
+                                  @Value("${image.upload.dir}") String uploadDir,
+                                  @Value("${image.upload.resumable.max-bytes:2147483648}") long maxUploadBytes,
+                                  @Value("${image.upload.resumable.session-ttl-hours:24}") long sessionTtlHours) {
+        this.uploadSessionRepo = uploadSessionRepo;
+        this.localImageService = localImageService;
+        // Same file system as the store so finalize is an atomic move
+        this.partialDir = Paths.get(uploadDir, "partial");
+        this.maxUploadBytes = maxUploadBytes;
+        this.sessionTtlHours = sessionTtlHours;
+    }
+
+    public UploadSession create(String fileName, long uploadLength) throws Exception {
+        if (uploadLength <= 0 || uploadLength > maxUploadBytes) {
+            throw new IllegalArgumentException("Upload-Length must be between 1 and " + maxUploadBytes);
+        }
+        if (fileName == null || fileName.isBlank()) {
+            throw new IllegalArgumentException("fileName is required");
+        }
+        UploadSession session = new UploadSession(UUID.randomUUID().toString(), fileName, uploadLength, LocalDateTime.now());
+        Files.createDirectories(partialDir);
+        Files.createFile(partPath(session));
+        uploadSessionRepo.save(session);
+        log.info("Created upload session {} for {} ({} bytes)", session.getId(), fileName, uploadLength);
+        return session;
+    }
+
+    public UploadSession getSession(String uploadId) throws Exception {
+        try {
+            UUID.fromString(uploadId);
+        } catch (IllegalArgumentException e) {
+            throw new UploadNotFoundException(uploadId);
+        }
+        return uploadSessionRepo.findById(uploadId).orElseThrow(() -> new UploadNotFoundException(uploadId));
+    }
+
+    public long getOffset(UploadSession session) throws IOException {
+        return Files.size(partPath(session));
+    }
+
+    /**
+     * Appends the request body at {@code offset}, which must equal the bytes already received.
+     * Returns the new offset. Bytes beyond the declared length are rejected.
+     */
+    public long append(UploadSession session, long offset, InputStream body) throws Exception {
+        try (FileChannel channel = FileChannel.open(partPath(session), StandardOpenOption.WRITE)) {
+            FileLock lock;
+            try {
+                lock = channel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                lock = null;
+            }
+            if (lock == null) {
+                throw new UploadConflictException("Another chunk is being written to upload " + session.getId());
+            }
+            try {
+                long current = channel.size();
+                if (offset != current) {
+                    throw new UploadConflictException("Upload-Offset " + offset + " does not match current offset " + current);
+                }
+                long remaining = session.getUploadLength() - current;
+                ReadableByteChannel source = Channels.newChannel(body);
+                long position = current;
+                while (position - current < remaining) {
+                    long transferred = channel.transferFrom(source, position, remaining - (position - current));
+                    if (transferred == 0) {
+                        // transferFrom returns 0 at end of stream
+                        break;
+                    }
+                    position += transferred;
+                }
+                channel.force(false);
+                if (position - current == remaining && body.read() != -1) {
+                    throw new IllegalArgumentException("Chunk exceeds Upload-Length " + session.getUploadLength());
+                }
+                return position;
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    /**
+     * Moves a complete upload into the image store and returns its digest, which is then passed as
+     * thermalImageHash / sunnyImageHash / ... to the existing attach endpoints.
+     */
+    public String finalizeUpload(UploadSession session) throws Exception {
+        long offset = getOffset(session);
+        if (offset != session.getUploadLength()) {
+            throw new UploadConflictException("Upload incomplete: " + offset + " of " + session.getUploadLength() + " bytes");
+        }
+        String digest = localImageService.adoptFile(partPath(session), session.getFileName());
+        uploadSessionRepo.delete(session);
+        log.info("Finalized upload {} as {}", session.getId(), digest);
+        return digest;
+    }
+
+    public void cancel(UploadSession session) throws IOException {
+        Files.deleteIfExists(partPath(session));
+        uploadSessionRepo.delete(session);
+    }
+
+    // Abandoned sessions keep their partial bytes only for the configured TTL
+    @Scheduled(fixedRateString = "${image.upload.resumable.sweep-interval-ms:3600000}")
+    public void expireSessions() {
+        for (UploadSession session : uploadSessionRepo.findAllByCreatedAtBefore(LocalDateTime.now().minusHours(sessionTtlHours))) {
+            try {
+                cancel(session);
+                log.info("Expired upload session {}", session.getId());
+            } catch (Exception e) {
+                log.warn("Could not expire upload session {}: {}", session.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private Path partPath(UploadSession session) {
+        return partialDir.resolve(session.getId() + ".part");
+    }
+
+    public static class UploadNotFoundException extends Exception {
+        public UploadNotFoundException(String uploadId) {
+            super("Upload not found: " + uploadId);
+        }
+    }
+
+    public static class UploadConflictException extends Exception {
+        public UploadConflictException(String message) {
+            super(message);
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.devix.backend.service.Impl;
 
+import com.devix.backend.dto.PageResponseDto;
 import com.devix.backend.dto.TransformerRequestDto;
 import com.devix.backend.dto.TransformerResponseDto;
+import com.devix.backend.model.BaselineImage;
 import com.devix.backend.model.Inspection;
 import com.devix.backend.model.Transformer;
 import com.devix.backend.repo.AiResultsRepo;
 import com.devix.backend.repo.BaseImageRepo;
+import com.devix.backend.repo.EvalResultsRepo;
 import com.devix.backend.repo.InspectionImageRepo;
 import com.devix.backend.repo.InspectionRepo;
 import com.devix.backend.repo.TransformerRepo;
@@ -13,8 +16,11 @@ import com.devix.backend.service.MapperService;
 import com.devix.backend.service.TransformerService;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -29,15 +35,28 @@ public class TransformerServiceImpl implements TransformerService {
     private final BaseImageRepo baselineImageRepo;
     private final InspectionImageRepo inspectionImageRepo;
     private final AiResultsRepo aiResultsRepo;
+    private final EvalResultsRepo evalResultsRepo;
+    private final LocalImageService localImageService;
+    private final ReferenceDataCache referenceDataCache;
+    private final int maxPageSize;
+    private final int streamFetchSize;
 
 
-    public TransformerServiceImpl(TransformerRepo transformerRepo, InspectionRepo inspectionRepo, BaseImageRepo baselineImageRepo, InspectionImageRepo inspectionImageRepo, AiResultsRepo aiResultsRepo) {
+    public TransformerServiceImpl(TransformerRepo transformerRepo, InspectionRepo inspectionRepo, BaseImageRepo baselineImageRepo, InspectionImageRepo inspectionImageRepo, AiResultsRepo aiResultsRepo, LocalImageService localImageService,
+                                  EvalResultsRepo evalResultsRepo, ReferenceDataCache referenceDataCache,
+                                  @Value("${listing.page.max-size:500}") int maxPageSize,
+                                  @Value("${listing.stream.fetch-size:500}") int streamFetchSize) {
         this.transformerRepo = transformerRepo;
         this.mapperService = MapperService.INSTANCE;
         this.inspectionRepo = inspectionRepo;
         this.inspectionImageRepo = inspectionImageRepo;
         this.baselineImageRepo = baselineImageRepo;
         this.aiResultsRepo = aiResultsRepo;
+        this.evalResultsRepo = evalResultsRepo;
+        this.localImageService = localImageService;
+        this.referenceDataCache = referenceDataCache;
+        this.maxPageSize = maxPageSize;
+        this.streamFetchSize = streamFetchSize;
     }
 
     @Override
@@ -51,6 +70,8 @@ public class TransformerServiceImpl implements TransformerService {
             }
 
             transformerRepo.save(mapperService.toTransformerEntity(transformerRequestDto));
+            // Drop a cached "not found" from earlier lookups
+            referenceDataCache.evictTransformer(transformerRequestDto.getTransformerNo());
             log.info("Transformer created");
         }catch (Exception e) {
             log.error("Error creating transformer: {}", e.getMessage());
@@ -64,7 +85,7 @@ public class TransformerServiceImpl implements TransformerService {
     public TransformerResponseDto getTransformer(String transformerNo) throws Exception {
         try {
             log.info("Fetching transformer with number: {}", transformerNo);
-            Transformer transformer = transformerRepo.findByTransformerNo(transformerNo);
+            Transformer transformer = referenceDataCache.findTransformer(transformerNo);
             if (transformer == null) {
                 throw new Exception("Transformer not found");
             }
@@ -90,6 +111,30 @@ public class TransformerServiceImpl implements TransformerService {
         }
     }
 
+    @Override
+    public PageResponseDto<TransformerResponseDto> getTransformersPage(Long cursor, int limit) throws Exception {
+        try {
+            log.info("Fetching transformers page, cursor: {}, limit: {}", cursor, limit);
+            return KeysetPager.page(transformerRepo::findByIdGreaterThanOrderByIdAsc, Transformer::getId,
+                    mapperService::toTransformerDto, cursor, Math.min(Math.max(limit, 1), maxPageSize));
+        } catch (Exception e) {
+            log.error("Error fetching transformers page: {}", e.getMessage());
+            throw new Exception("Error fetching transformers: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void streamTransformers(OutputStream out) throws Exception {
+        try {
+            log.info("Streaming all transformers");
+            KeysetPager.streamNdjson(out, transformerRepo::findByIdGreaterThanOrderByIdAsc, Transformer::getId,
+                    mapperService::toTransformerDto, streamFetchSize);
+        } catch (Exception e) {
+            log.error("Error streaming transformers: {}", e.getMessage());
+            throw new Exception("Error streaming transformers: " + e.getMessage());
+        }
+    }
+
     @Override
     public void updateTransformer(TransformerRequestDto transformerRequestDto) throws Exception {
         try {
@@ -106,6 +151,7 @@ public class TransformerServiceImpl implements TransformerService {
             existingTransformer.setTransformerCapacity(transformerRequestDto.getTransformerCapacity());
 
             transformerRepo.save(existingTransformer);
+            referenceDataCache.evictTransformer(existingTransformer.getTransformerNo());
             log.info("Transformer updated");
         } catch (Exception e) {
             log.error("Error updating transformer: {}", e.getMessage());
@@ -122,13 +168,29 @@ public class TransformerServiceImpl implements TransformerService {
             if (existingTransformer == null) {
                 throw new Exception("Transformer not found");
             }
-            transformerRepo.delete(existingTransformer);
+            List<String> imagePaths = new ArrayList<>(inspectionImageRepo.findThermalImageUrlsByTransformerNo(transformerNo));
+            BaselineImage baselineImage = baselineImageRepo.findByTransformerNo(transformerNo);
+            if (baselineImage != null) {
+                imagePaths.add(baselineImage.getSunnyImageUrl());
+                imagePaths.add(baselineImage.getCloudyImageUrl());
+                imagePaths.add(baselineImage.getRainyImageUrl());
+            }
+
+            // One DELETE per table, children first (results are matched through their inspections)
+            int evalResults = evalResultsRepo.deleteAllByTransformerNo(transformerNo);
+            int aiResults = aiResultsRepo.deleteAllByTransformerNo(transformerNo);
+            int inspectionImages = inspectionImageRepo.deleteAllByTransformerNo(transformerNo);
+            int inspections = inspectionRepo.deleteAllByTransformerNo(transformerNo);
             baselineImageRepo.deleteByTransformerNo(transformerNo);
-            inspectionRepo.deleteAllByTransformerNo(transformerNo);
-            inspectionImageRepo.deleteAllByTransformerNo(transformerNo);
-            aiResultsRepo.deleteAllByTransformerNo(transformerNo);
+            transformerRepo.deleteByTransformerNo(transformerNo);
+            referenceDataCache.evictTransformer(transformerNo);
+            referenceDataCache.evictBaselineImage(transformerNo);
+
+            // Drop the content store references held by the deleted rows once the delete has committed
+            localImageService.releaseImagesAfterCommit(imagePaths);
 
-            log.info("Transformer deleted");
+            log.info("Deleted transformer {} with {} inspections, {} images, {} AI results and {} evaluation results",
+                    transformerNo, inspections, inspectionImages, aiResults, evalResults);
         } catch (Exception e) {
             log.error("Error deleting transformer: {}", e.getMessage());
             throw new Exception("Error deleting transformer: " + e.getMessage());
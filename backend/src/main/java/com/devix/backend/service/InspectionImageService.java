@@ -6,9 +6,11 @@ import java.util.List;
 import java.util.Map;
 
 public interface InspectionImageService {
-    void addThermalImage(String inspectionNo, String transformerNo, String imageCondition, MultipartFile thermalImage, String uploadedBy, String uploadedDate, String uploadedTime) throws Exception;
+    void addThermalImage(String inspectionNo, String transformerNo, String imageCondition, MultipartFile thermalImage, String thermalImageHash, String uploadedBy, String uploadedDate, String uploadedTime) throws Exception;
     Map<String, Object> getComparisonImage(String inspectionNo) throws Exception;
     Map<String , String> getLastUpdatedDate(String inspectionNo) throws Exception;
     void createEvalResults(List<Map<String, String>> evalResultsList) throws Exception;
     Map<String, Object> getReport(String inspectionNo) throws Exception;
+    String getThermalImagePath(Long imageId, String size) throws Exception;
+    String getThermalTilePath(Long imageId, int level, int x, int y) throws Exception;
 }
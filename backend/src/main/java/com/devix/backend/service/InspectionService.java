@@ -2,7 +2,10 @@ package com.devix.backend.service;
 
 import com.devix.backend.dto.InspectionRequestDto;
 import com.devix.backend.dto.InspectionResponseDto;
+import com.devix.backend.dto.InspectionSearchDto;
+import com.devix.backend.dto.PageResponseDto;
 
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -15,5 +18,10 @@ public interface InspectionService {
     void updateInspection(String inspectionNo, InspectionRequestDto inspection) throws Exception;
     void deleteInspection(String inspectionNo) throws Exception;
     List<InspectionResponseDto> getInspectionsByTransformerNo(String transformerNo) throws Exception;
+    // transformerNo may be null for the unfiltered listing
+    PageResponseDto<InspectionResponseDto> getInspectionsPage(String transformerNo, Long cursor, int limit) throws Exception;
+    void streamInspections(String transformerNo, OutputStream out) throws Exception;
+    PageResponseDto<InspectionResponseDto> searchInspections(InspectionSearchDto search, Long cursor, int limit) throws Exception;
+    void streamSearchInspections(InspectionSearchDto search, OutputStream out) throws Exception;
     Map<String, String> inspectionStatus(String inspectionNo) throws Exception;
 }
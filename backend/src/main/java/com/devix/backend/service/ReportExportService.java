@@ -0,0 +1,14 @@
+package com.devix.backend.service;
+
+import com.devix.backend.dto.ReportExportRequestDto;
+
+import java.io.OutputStream;
+
+public interface ReportExportService {
+
+    String NDJSON = "ndjson";
+    String CSV = "csv";
+
+    // format is "ndjson" (one getReport document per line) or "csv" (one line per anomaly)
+    void exportReports(ReportExportRequestDto filter, String format, boolean zip, OutputStream out) throws Exception;
+}
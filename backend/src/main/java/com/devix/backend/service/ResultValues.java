@@ -0,0 +1,60 @@
+package com.devix.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts loosely typed detection values (numbers, numeric strings, "null") coming from the
+ * AI server or the frontend into the typed columns of AiResults and EvalResults.
+ */
+public final class ResultValues {
+
+    private ResultValues() {
+    }
+
+    public static Double toDouble(Object value) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value.toString().trim());
+        } catch (NumberFormatException e) {
+            return null; // "", "null", "None", ...
+        }
+    }
+
+    public static Integer toInteger(Object value) {
+        Double number = toDouble(value);
+        return number != null ? (int) Math.round(number) : null;
+    }
+
+    // Accepts [x, y, w, h] as a list or as its JSON text, e.g. "[676,248,383,136]"
+    public static List<Integer> toBbox(Object value) {
+        if (value == null) {
+            return null;
+        }
+        List<?> items;
+        if (value instanceof List<?> list) {
+            items = list;
+        } else {
+            String text = value.toString().trim();
+            if (!text.startsWith("[") || !text.endsWith("]")) {
+                return null;
+            }
+            String inner = text.substring(1, text.length() - 1).trim();
+            items = inner.isEmpty() ? List.of() : List.of(inner.split(","));
+        }
+        List<Integer> bbox = new ArrayList<>(items.size());
+        for (Object item : items) {
+            Integer coordinate = toInteger(item);
+            if (coordinate == null) {
+                return null;
+            }
+            bbox.add(coordinate);
+        }
+        return bbox;
+    }
+}
@@ -0,0 +1,68 @@
+package com.devix.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+
+/**
+ * Bounded retries with jittered exponential backoff, limited by a retry budget: every first attempt
+ * earns {@code budgetRatio} of a retry and every retry spends a whole one, so retries add at most that
+ * share of extra load to a struggling downstream. The budget starts with, and never holds more than,
+ * {@code budgetReserve} retries so quiet periods can still retry.
+ */
+public class RetryPolicy {
+
+    private final int maxRetries;
+    private final Duration minBackoff;
+    private final Duration maxBackoff;
+    private final double budgetRatio;
+    private final double budgetReserve;
+    private final Counter budgetExhausted;
+
+    private double tokens;
+
+    public RetryPolicy(String name, int maxRetries, Duration minBackoff, Duration maxBackoff,
+                       double budgetRatio, int budgetReserve, MeterRegistry meterRegistry) {
+        this.maxRetries = maxRetries;
+        this.minBackoff = minBackoff;
+        this.maxBackoff = maxBackoff;
+        this.budgetRatio = budgetRatio;
+        this.budgetReserve = budgetReserve;
+        this.tokens = budgetReserve;
+        this.budgetExhausted = Counter.builder("retry.budget.exhausted")
+                .description("Retries skipped because the retry budget was spent")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public synchronized void recordAttempt() {
+        tokens = Math.min(budgetReserve, tokens + budgetRatio);
+    }
+
+    synchronized boolean tryRetry() {
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        budgetExhausted.increment();
+        return false;
+    }
+
+    /**
+     * Retry spec for one call: failures matching {@code retryable} are retried while attempts and budget
+     * last, then the last failure is rethrown as is. Backoff delays run on boundedElastic because the
+     * retried call may block while subscribing (bulkhead permits).
+     */
+    public Retry retrySpec(Predicate<Throwable> retryable) {
+        return Retry.backoff(maxRetries, minBackoff)
+                .maxBackoff(maxBackoff)
+                .jitter(0.5)
+                .filter(e -> retryable.test(e) && tryRetry())
+                .scheduler(Schedulers.boundedElastic())
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+}
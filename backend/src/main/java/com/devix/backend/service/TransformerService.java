@@ -1,8 +1,10 @@
 package com.devix.backend.service;
 
+import com.devix.backend.dto.PageResponseDto;
 import com.devix.backend.dto.TransformerRequestDto;
 import com.devix.backend.dto.TransformerResponseDto;
 
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -14,6 +16,8 @@ public interface TransformerService {
 
     TransformerResponseDto getTransformer(String transformerNo) throws Exception;
     List<TransformerResponseDto> getAllTransformers() throws Exception;
+    PageResponseDto<TransformerResponseDto> getTransformersPage(Long cursor, int limit) throws Exception;
+    void streamTransformers(OutputStream out) throws Exception;
     void updateTransformer(TransformerRequestDto transformer) throws Exception;
     void deleteTransformer(String transformerNo) throws Exception;
     Map<String, String> lastInspectedDate(String transformerNo) throws Exception;
@@ -0,0 +1,3 @@
+-- OrphanImageCollector looks up each scanned file by URL; baseline_image stays small enough to scan
+
+CREATE INDEX IF NOT EXISTS ix_inspection_image_thermal_url ON inspection_image (thermal_image_url);
@@ -0,0 +1,7 @@
+-- The AI sweep now also picks up inspections marked ai_unavailable while the AI server was down
+-- (InspectionRepo.findAllByInspectionStatusIn). The new partial index also serves the
+-- findAllByInspectionStatus("pending") query, so it replaces ix_inspection_pending.
+CREATE INDEX IF NOT EXISTS ix_inspection_awaiting_analysis ON inspection (inspection_no)
+    WHERE inspection_status IN ('pending', 'ai_unavailable');
+
+DROP INDEX IF EXISTS ix_inspection_pending;
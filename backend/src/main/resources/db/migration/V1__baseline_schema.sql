@@ -0,0 +1,101 @@
+-- Schema previously generated by ddl-auto=update. IF NOT EXISTS keeps this safe on
+-- databases that were created by Hibernate before migrations were introduced.
+
+CREATE TABLE IF NOT EXISTS transformer (
+    id                   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    transformer_no       VARCHAR(255),
+    transformer_type     VARCHAR(255),
+    transformer_pole_no  VARCHAR(255),
+    transformer_region   VARCHAR(255),
+    transformer_location VARCHAR(255),
+    transformer_capacity VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS inspection (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    inspection_no     VARCHAR(255),
+    inspection_date   VARCHAR(255),
+    inspection_time   VARCHAR(255),
+    inspection_branch VARCHAR(255),
+    inspection_status VARCHAR(255),
+    transformer_no    VARCHAR(255),
+    inspectedby       VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS inspection_image (
+    id                      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    inspection_no           VARCHAR(255),
+    transformer_no          VARCHAR(255),
+    thermal_image_url       VARCHAR(255),
+    thermal_image_condition VARCHAR(255),
+    uploaded_by             VARCHAR(255),
+    uploaded_date           VARCHAR(255),
+    uploaded_time           VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS baseline_image (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    transformer_no   VARCHAR(255),
+    sunny_image_url  VARCHAR(255),
+    rainy_image_url  VARCHAR(255),
+    cloudy_image_url VARCHAR(255),
+    uploaded_by      VARCHAR(255),
+    uploaded_date    VARCHAR(255),
+    uploaded_time    VARCHAR(255)
+);
+
+CREATE SEQUENCE IF NOT EXISTS ai_results_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS ai_results (
+    id               BIGINT PRIMARY KEY,
+    inspection_no    VARCHAR(255),
+    transformer_no   VARCHAR(255),
+    anomaly_status   VARCHAR(255),
+    fault_type       VARCHAR(255),
+    fault_severity   VARCHAR(255),
+    fault_confidence VARCHAR(255),
+    xcoordinate      VARCHAR(255),
+    ycoordinate      VARCHAR(255),
+    bbox             VARCHAR(255),
+    area_px          VARCHAR(255),
+    hotspotx         VARCHAR(255),
+    hotspoty         VARCHAR(255)
+);
+
+CREATE SEQUENCE IF NOT EXISTS eval_results_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS eval_results (
+    id               BIGINT PRIMARY KEY,
+    inspection_no    VARCHAR(255),
+    transformer_no   VARCHAR(255),
+    anomaly_status   VARCHAR(255),
+    fault_type       VARCHAR(255),
+    fault_severity   VARCHAR(255),
+    fault_confidence VARCHAR(255),
+    xcoordinate      VARCHAR(255),
+    ycoordinate      VARCHAR(255),
+    bbox             VARCHAR(255),
+    area_px          VARCHAR(255),
+    hotspotx         VARCHAR(255),
+    hotspoty         VARCHAR(255),
+    evaluated_by     VARCHAR(255),
+    evaluated_date   VARCHAR(255),
+    notes            VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS image_derivative (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    source_url     VARCHAR(255),
+    variant        VARCHAR(255),
+    derivative_url VARCHAR(255),
+    width          INTEGER,
+    height         INTEGER
+);
+
+CREATE TABLE IF NOT EXISTS stored_image (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    digest     VARCHAR(64) NOT NULL UNIQUE,
+    path       VARCHAR(255),
+    size_bytes BIGINT,
+    ref_count  INTEGER
+);
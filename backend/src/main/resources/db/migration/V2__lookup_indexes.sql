@@ -0,0 +1,61 @@
+-- Indexes matching the finders in com.devix.backend.repo
+
+-- Databases created by ddl-auto=update had no unique constraints on the business keys below. Rather
+-- than fail on a bare unique violation, stop with the duplicated values. To fix, list each group, e.g.
+--   SELECT inspection_no, array_agg(id ORDER BY id) FROM inspection GROUP BY inspection_no HAVING COUNT(*) > 1;
+-- then renumber or merge all but one row per key (with the rows that reference it) and migrate again.
+DO $$
+DECLARE
+    duplicates TEXT;
+BEGIN
+    SELECT string_agg(key, ', ') INTO duplicates FROM (
+        SELECT 'inspection.inspection_no=' || inspection_no AS key FROM inspection
+        WHERE inspection_no IS NOT NULL GROUP BY inspection_no HAVING COUNT(*) > 1
+        UNION ALL
+        SELECT 'transformer.transformer_no=' || transformer_no FROM transformer
+        WHERE transformer_no IS NOT NULL GROUP BY transformer_no HAVING COUNT(*) > 1
+        UNION ALL
+        SELECT 'baseline_image.transformer_no=' || transformer_no FROM baseline_image
+        WHERE transformer_no IS NOT NULL GROUP BY transformer_no HAVING COUNT(*) > 1
+    ) keys;
+    IF duplicates IS NOT NULL THEN
+        RAISE EXCEPTION 'Duplicate keys block the unique indexes of V2: %', duplicates
+            USING HINT = 'Keep one row per key as described in V2__lookup_indexes.sql, then migrate again';
+    END IF;
+END $$;
+
+-- Duplicate derivative rows describe the same generated file, so only the first one is kept
+DELETE FROM image_derivative d USING image_derivative kept
+WHERE d.source_url = kept.source_url AND d.variant = kept.variant AND d.id > kept.id;
+
+-- InspectionRepo.findByInspectionNo
+CREATE UNIQUE INDEX IF NOT EXISTS ux_inspection_inspection_no ON inspection (inspection_no);
+-- InspectionRepo.findByTransformerNo / deleteAllByTransformerNo /
+-- findTopByTransformerNoOrderByInspectionDateDescInspectionTimeDesc
+CREATE INDEX IF NOT EXISTS ix_inspection_transformer_date_time
+    ON inspection (transformer_no, inspection_date DESC, inspection_time DESC);
+-- InspectionRepo.findAllByInspectionStatus("pending"), used by the AI sweep
+CREATE INDEX IF NOT EXISTS ix_inspection_pending ON inspection (inspection_no)
+    WHERE inspection_status = 'pending';
+
+-- TransformerRepo.findByTransformerNo
+CREATE UNIQUE INDEX IF NOT EXISTS ux_transformer_transformer_no ON transformer (transformer_no);
+
+-- BaseImageRepo.findByTransformerNo / deleteByTransformerNo
+CREATE UNIQUE INDEX IF NOT EXISTS ux_baseline_image_transformer_no ON baseline_image (transformer_no);
+
+-- InspectionImageRepo.findByInspectionNo / findByTransformerNo / deleteAllByTransformerNo
+CREATE INDEX IF NOT EXISTS ix_inspection_image_inspection_no ON inspection_image (inspection_no);
+CREATE INDEX IF NOT EXISTS ix_inspection_image_transformer_no ON inspection_image (transformer_no);
+
+-- AiResultsRepo / EvalResultsRepo findAllByInspectionNo / deleteAllByTransformerNo
+CREATE INDEX IF NOT EXISTS ix_ai_results_inspection_no ON ai_results (inspection_no);
+CREATE INDEX IF NOT EXISTS ix_ai_results_transformer_no ON ai_results (transformer_no);
+CREATE INDEX IF NOT EXISTS ix_eval_results_inspection_no ON eval_results (inspection_no);
+CREATE INDEX IF NOT EXISTS ix_eval_results_transformer_no ON eval_results (transformer_no);
+
+-- ImageDerivativeRepo.findBySourceUrlAndVariant / findAllBySourceUrl
+CREATE UNIQUE INDEX IF NOT EXISTS ux_image_derivative_source_variant ON image_derivative (source_url, variant);
+
+-- StoredImageRepo.findByPath / decrementRefCount (findByDigest uses the unique constraint)
+CREATE INDEX IF NOT EXISTS ix_stored_image_path ON stored_image (path);
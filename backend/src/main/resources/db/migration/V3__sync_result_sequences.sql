@@ -0,0 +1,4 @@
+-- AiResults and EvalResults moved from IDENTITY to pooled sequences (allocation size 50).
+-- Move the sequences past ids written under IDENTITY so new rows cannot collide.
+SELECT setval('ai_results_seq', COALESCE((SELECT MAX(id) FROM ai_results), 0) + 50);
+SELECT setval('eval_results_seq', COALESCE((SELECT MAX(id) FROM eval_results), 0) + 50);
@@ -0,0 +1,36 @@
+-- AiResults / EvalResults detection values move from VARCHAR to numeric types and bbox to JSONB.
+-- Values that do not parse (e.g. 'null', 'None', '') become NULL.
+
+CREATE OR REPLACE FUNCTION pg_temp.to_double(value VARCHAR) RETURNS DOUBLE PRECISION AS $$
+    SELECT CASE WHEN value ~ '^\s*-?[0-9]+(\.[0-9]+)?([eE][-+]?[0-9]+)?\s*$' THEN value::DOUBLE PRECISION END
+$$ LANGUAGE SQL IMMUTABLE;
+
+CREATE OR REPLACE FUNCTION pg_temp.to_bbox(value VARCHAR) RETURNS JSONB AS $$
+    SELECT CASE WHEN value ~ '^\s*\[\s*-?[0-9]+(\.[0-9]+)?(\s*,\s*-?[0-9]+(\.[0-9]+)?)*\s*\]\s*$' THEN value::JSONB END
+$$ LANGUAGE SQL IMMUTABLE;
+
+ALTER TABLE ai_results
+    ALTER COLUMN fault_severity   TYPE DOUBLE PRECISION USING pg_temp.to_double(fault_severity),
+    ALTER COLUMN fault_confidence TYPE DOUBLE PRECISION USING pg_temp.to_double(fault_confidence),
+    ALTER COLUMN xcoordinate      TYPE DOUBLE PRECISION USING pg_temp.to_double(xcoordinate),
+    ALTER COLUMN ycoordinate      TYPE DOUBLE PRECISION USING pg_temp.to_double(ycoordinate),
+    ALTER COLUMN bbox             TYPE JSONB            USING pg_temp.to_bbox(bbox),
+    ALTER COLUMN area_px          TYPE INTEGER          USING ROUND(pg_temp.to_double(area_px))::INTEGER,
+    ALTER COLUMN hotspotx         TYPE DOUBLE PRECISION USING pg_temp.to_double(hotspotx),
+    ALTER COLUMN hotspoty         TYPE DOUBLE PRECISION USING pg_temp.to_double(hotspoty);
+
+ALTER TABLE eval_results
+    ALTER COLUMN fault_severity   TYPE DOUBLE PRECISION USING pg_temp.to_double(fault_severity),
+    ALTER COLUMN fault_confidence TYPE DOUBLE PRECISION USING pg_temp.to_double(fault_confidence),
+    ALTER COLUMN xcoordinate      TYPE DOUBLE PRECISION USING pg_temp.to_double(xcoordinate),
+    ALTER COLUMN ycoordinate      TYPE DOUBLE PRECISION USING pg_temp.to_double(ycoordinate),
+    ALTER COLUMN bbox             TYPE JSONB            USING pg_temp.to_bbox(bbox),
+    ALTER COLUMN area_px          TYPE INTEGER          USING ROUND(pg_temp.to_double(area_px))::INTEGER,
+    ALTER COLUMN hotspotx         TYPE DOUBLE PRECISION USING pg_temp.to_double(hotspotx),
+    ALTER COLUMN hotspoty         TYPE DOUBLE PRECISION USING pg_temp.to_double(hotspoty);
+
+-- Range filters such as "confidence > 0.8" or "area > N"
+CREATE INDEX IF NOT EXISTS ix_ai_results_fault_confidence ON ai_results (fault_confidence);
+CREATE INDEX IF NOT EXISTS ix_ai_results_area_px ON ai_results (area_px);
+CREATE INDEX IF NOT EXISTS ix_eval_results_fault_confidence ON eval_results (fault_confidence);
+CREATE INDEX IF NOT EXISTS ix_eval_results_area_px ON eval_results (area_px);
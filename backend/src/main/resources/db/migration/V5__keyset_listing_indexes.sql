@@ -0,0 +1,3 @@
+-- Keyset pagination for InspectionRepo.findByTransformerNoAndIdGreaterThanOrderByIdAsc.
+-- The unfiltered listings (inspection / transformer by id) walk the primary key.
+CREATE INDEX IF NOT EXISTS ix_inspection_transformer_id ON inspection (transformer_no, id);
@@ -0,0 +1,14 @@
+-- Indexes for InspectionSpecifications (GET /api/inspection/search)
+
+CREATE INDEX IF NOT EXISTS ix_inspection_status_date ON inspection (inspection_status, inspection_date);
+CREATE INDEX IF NOT EXISTS ix_inspection_date ON inspection (inspection_date);
+CREATE INDEX IF NOT EXISTS ix_inspection_branch_date ON inspection (inspection_branch, inspection_date);
+
+-- Region filter: EXISTS (transformer with this transformer_no and region)
+CREATE INDEX IF NOT EXISTS ix_transformer_region_no ON transformer (transformer_region, transformer_no);
+
+-- Fault filter: EXISTS (result for this inspection with this fault type / severity)
+CREATE INDEX IF NOT EXISTS ix_ai_results_inspection_fault
+    ON ai_results (inspection_no, fault_type, fault_severity);
+CREATE INDEX IF NOT EXISTS ix_eval_results_inspection_fault
+    ON eval_results (inspection_no, fault_type, fault_severity);
@@ -0,0 +1,8 @@
+-- Inspection numbers come from this sequence instead of MAX(inspection_no) + 1.
+-- Each nextval reserves a block of 50 numbers (InspectionNoGenerator, inspection.no.block-size).
+CREATE SEQUENCE IF NOT EXISTS inspection_no_seq START WITH 1 INCREMENT BY 50;
+
+-- Continue after the numbers already handed out
+SELECT setval('inspection_no_seq',
+              COALESCE((SELECT MAX(CAST(inspection_no AS int)) FROM inspection WHERE inspection_no ~ '^[0-9]+$'), 0) + 1,
+              false);
@@ -0,0 +1,5 @@
+-- InspectionImage moves from IDENTITY to a pooled sequence (allocation size 50) so bulk ingest
+-- can batch its inserts. Start past the ids written under IDENTITY.
+CREATE SEQUENCE IF NOT EXISTS inspection_image_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('inspection_image_seq', COALESCE((SELECT MAX(id) FROM inspection_image), 0) + 50);
+ALTER TABLE inspection_image ALTER COLUMN id DROP IDENTITY IF EXISTS;
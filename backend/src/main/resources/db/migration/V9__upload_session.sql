@@ -0,0 +1,10 @@
+-- Resumable (chunked) uploads in progress, see ResumableUploadService
+CREATE TABLE IF NOT EXISTS upload_session (
+    id            VARCHAR(36) PRIMARY KEY,
+    file_name     VARCHAR(255),
+    upload_length BIGINT,
+    created_at    TIMESTAMP(6)
+);
+
+-- UploadSessionRepo.findAllByCreatedAtBefore, used by the expiry sweep
+CREATE INDEX IF NOT EXISTS ix_upload_session_created_at ON upload_session (created_at);
@@ -0,0 +1,186 @@
+package com.devix.backend.service;
+
+import com.devix.backend.model.Inspection;
+import com.devix.backend.model.InspectionImage;
+import com.devix.backend.repo.AiResultsRepo;
+import com.devix.backend.repo.InspectionImageRepo;
+import com.devix.backend.repo.InspectionRepo;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AiServiceTest {
+
+    private static final int INSPECTIONS = 10;
+
+    private HttpServer stubAiServer;
+    private ExecutorService stubExecutor;
+    private final AtomicInteger predictCalls = new AtomicInteger();
+    private final AtomicInteger predictsInFlight = new AtomicInteger();
+    private final AtomicInteger maxPredictsInFlight = new AtomicInteger();
+    private volatile boolean predictFails;
+    private final AtomicInteger batchCalls = new AtomicInteger();
+
+    private InspectionRepo inspectionRepo;
+    private InspectionImageRepo inspectionImageRepo;
+    private AiResultsRepo aiResultsRepo;
+    private ThreadPoolTaskExecutor executor;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Stub AI server: every image has one anomaly, batch results echo the image URLs back
+        stubAiServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubExecutor = Executors.newCachedThreadPool();
+        stubAiServer.setExecutor(stubExecutor);
+        stubAiServer.createContext("/predict", exchange -> {
+            predictCalls.incrementAndGet();
+            maxPredictsInFlight.accumulateAndGet(predictsInFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            predictsInFlight.decrementAndGet();
+            if (predictFails) {
+                exchange.sendResponseHeaders(500, -1);
+                exchange.close();
+                return;
+            }
+            respond(exchange, "[{\"fault_type\":\"Loose Joint\",\"severity\":\"0.7\",\"confidence\":\"0.9\"}]");
+        });
+        stubAiServer.createContext("/predict_batch", exchange -> {
+            batchCalls.incrementAndGet();
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            StringBuilder results = new StringBuilder();
+            for (int i = 0; i < INSPECTIONS; i++) {
+                String imageUrl = "image-" + i + ".jpg";
+                if (body.contains("\"" + imageUrl + "\"")) {
+                    results.append(results.isEmpty() ? "" : ",")
+                            .append("{\"imageUrl\":\"").append(imageUrl)
+                            .append("\",\"predictions\":[{\"fault_type\":\"Loose Joint\",\"severity\":\"0.7\"}]}");
+                }
+            }
+            respond(exchange, "{\"results\":[" + results + "]}");
+        });
+        stubAiServer.start();
+
+        inspectionRepo = mock(InspectionRepo.class);
+        inspectionImageRepo = mock(InspectionImageRepo.class);
+        aiResultsRepo = mock(AiResultsRepo.class);
+        when(inspectionRepo.findByInspectionNo(anyString())).thenAnswer(invocation ->
+                new Inspection(invocation.getArgument(0), "2025-01-01", "10:00", "Colombo", "pending", "AZ-001", "Devix"));
+        when(inspectionImageRepo.findFirstByInspectionNoOrderByIdDesc(anyString())).thenAnswer(invocation ->
+                new InspectionImage(invocation.getArgument(0), "AZ-001", "image-" + Integer.parseInt(invocation.getArgument(0)) + ".jpg",
+                        "Sunny", "Devix", "2025-01-01", "10:00"));
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.initialize();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stubAiServer.stop(0);
+        stubExecutor.shutdownNow();
+        executor.shutdown();
+    }
+
+    @Test
+    void singleModeSendsOneRequestPerImage() {
+        AiService aiService = createService(false);
+        enqueueAll(aiService);
+
+        verify(inspectionRepo, timeout(5000).times(INSPECTIONS)).save(any(Inspection.class));
+        assertEquals(INSPECTIONS, predictCalls.get());
+        assertEquals(0, batchCalls.get());
+        assertEquals(INSPECTIONS, meterRegistry.get("ai.server.requests").tag("endpoint", "predict").timer().count());
+        assertEquals(INSPECTIONS, meterRegistry.get("ai.analysis.time").timer().count());
+    }
+
+    @Test
+    void batchModeSharesRoundTripsAcrossImages() {
+        AiService aiService = createService(true);
+        enqueueAll(aiService);
+
+        verify(inspectionRepo, timeout(5000).times(INSPECTIONS)).save(any(Inspection.class));
+        verify(aiResultsRepo, times(INSPECTIONS)).saveAll(any());
+        assertEquals(0, predictCalls.get());
+        assertTrue(batchCalls.get() < INSPECTIONS, "expected fewer round trips than images, got " + batchCalls.get());
+    }
+
+    @Test
+    void bulkheadCapsConcurrentAiServerCalls() {
+        AiService aiService = createService(false, 1);
+        enqueueAll(aiService);
+
+        verify(inspectionRepo, timeout(5000).times(INSPECTIONS)).save(any(Inspection.class));
+        assertEquals(INSPECTIONS, predictCalls.get());
+        assertEquals(1, maxPredictsInFlight.get());
+    }
+
+    @Test
+    void openCircuitMarksInspectionsAiUnavailable() {
+        predictFails = true;
+        AiService aiService = createService(false);
+        enqueueAll(aiService);
+
+        verify(inspectionRepo, timeout(5000).times(INSPECTIONS))
+                .updateStatusByInspectionNosAndStatusIn(any(), eq(AiService.AI_UNAVAILABLE), any());
+        verify(inspectionRepo, never()).save(any(Inspection.class));
+        // Only the first wave of (max-concurrency) calls reaches the server, each with one retry
+        assertTrue(predictCalls.get() <= 4 * 2, "expected the open circuit to stop calls, got " + predictCalls.get());
+        assertTrue(meterRegistry.get("circuit.breaker.not.permitted").counter().count() > 0);
+    }
+
+    private AiService createService(boolean batchEnabled) {
+        return createService(batchEnabled, 8);
+    }
+
+    private AiService createService(boolean batchEnabled, int bulkheadLimit) {
+        Bulkhead bulkhead = new Bulkhead("ai-server", bulkheadLimit, Duration.ofSeconds(5), meterRegistry);
+        CircuitBreaker circuitBreaker = new CircuitBreaker("ai-server", 1, Duration.ofMinutes(1), meterRegistry);
+        RetryPolicy retryPolicy = new RetryPolicy("ai-server", 1, Duration.ofMillis(10), Duration.ofMillis(50), 0.2, 10, meterRegistry);
+        AiService aiService = new AiService(inspectionRepo, inspectionImageRepo, aiResultsRepo, executor, meterRegistry,
+                bulkhead, circuitBreaker, retryPolicy, WebClient.create("http://localhost:" + stubAiServer.getAddress().getPort()),
+                4, 5000, batchEnabled, 16, 500);
+        aiService.startDispatcher();
+        return aiService;
+    }
+
+    private void enqueueAll(AiService aiService) {
+        for (int i = 0; i < INSPECTIONS; i++) {
+            aiService.enqueueAnalysis(String.format("%05d", i));
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
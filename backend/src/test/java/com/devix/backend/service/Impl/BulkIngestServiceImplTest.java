@@ -0,0 +1,85 @@
+package com.devix.backend.service.Impl;
+
+import com.devix.backend.dto.BulkIngestResultDto;
+import com.devix.backend.model.InspectionImage;
+import com.devix.backend.repo.InspectionImageRepo;
+import com.devix.backend.repo.InspectionRepo;
+import com.devix.backend.service.AiService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class BulkIngestServiceImplTest {
+
+    @Autowired private InspectionRepo inspectionRepo;
+    @Autowired private InspectionImageRepo inspectionImageRepo;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private EntityManager entityManager;
+
+    private LocalImageService localImageService;
+    private ThreadPoolTaskExecutor executor;
+    private BulkIngestServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        localImageService = mock(LocalImageService.class);
+        when(localImageService.uploadImage(any(InputStream.class), eq("a.jpg"))).thenReturn("stored-a.jpg");
+        when(localImageService.uploadImage(any(InputStream.class), eq("b.jpg"))).thenReturn("stored-b.jpg");
+        executor = new ThreadPoolTaskExecutor();
+        executor.initialize();
+        service = new BulkIngestServiceImpl(inspectionRepo, inspectionImageRepo, localImageService,
+                mock(ImageDerivativeService.class), mock(AiService.class), executor, transactionManager, 10);
+
+        inspectionRepo.save(EntityFixtures.inspection("INS-1", "TX-1"));
+        inspectionImageRepo.save(EntityFixtures.thermalImage("INS-1", "TX-1", "old.jpg"));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void replacesTheExistingImageAndRejectsRepeatedInspections() throws Exception {
+        String manifest = "[{\"fileName\":\"a.jpg\",\"inspectionNo\":\"INS-1\",\"imageCondition\":\"Sunny\"}," +
+                "{\"fileName\":\"b.jpg\",\"inspectionNo\":\"INS-1\",\"imageCondition\":\"Cloudy\"}]";
+        List<MultipartFile> files = List.of(new MockMultipartFile("files", "a.jpg", "image/jpeg", new byte[1]),
+                new MockMultipartFile("files", "b.jpg", "image/jpeg", new byte[1]));
+
+        List<BulkIngestResultDto> results = service.ingestFiles(files, manifest, "inspector", "2025-01-03", "08:00");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("Inspection appears more than once in the manifest", results.get(1).getError());
+        List<InspectionImage> images = inspectionImageRepo.findAllByInspectionNoInOrderByIdAsc(List.of("INS-1"));
+        assertEquals(1, images.size());
+        assertEquals("stored-a.jpg", images.get(0).getThermalImageUrl());
+        verify(localImageService).releaseImagesAfterCommit(List.of("old.jpg"));
+    }
+}
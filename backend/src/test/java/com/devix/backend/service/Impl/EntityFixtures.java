@@ -0,0 +1,52 @@
+package com.devix.backend.service.Impl;
+
+import com.devix.backend.model.AiResults;
+import com.devix.backend.model.BaselineImage;
+import com.devix.backend.model.EvalResults;
+import com.devix.backend.model.Inspection;
+import com.devix.backend.model.InspectionImage;
+
+/**
+ * Unsaved entities with just the columns the repository tests key on; tests set anything else they assert.
+ */
+final class EntityFixtures {
+
+    private EntityFixtures() {
+    }
+
+    static Inspection inspection(String inspectionNo, String transformerNo) {
+        Inspection inspection = new Inspection();
+        inspection.setInspectionNo(inspectionNo);
+        inspection.setTransformerNo(transformerNo);
+        return inspection;
+    }
+
+    static InspectionImage thermalImage(String inspectionNo, String transformerNo, String url) {
+        InspectionImage image = new InspectionImage();
+        image.setInspectionNo(inspectionNo);
+        image.setTransformerNo(transformerNo);
+        image.setThermalImageUrl(url);
+        return image;
+    }
+
+    static BaselineImage sunnyBaseline(String transformerNo, String url) {
+        BaselineImage baseline = new BaselineImage();
+        baseline.setTransformerNo(transformerNo);
+        baseline.setSunnyImageUrl(url);
+        return baseline;
+    }
+
+    static AiResults aiResult(String inspectionNo, String transformerNo) {
+        AiResults aiResult = new AiResults();
+        aiResult.setInspectionNo(inspectionNo);
+        aiResult.setTransformerNo(transformerNo);
+        return aiResult;
+    }
+
+    static EvalResults evalResult(String inspectionNo, String transformerNo) {
+        EvalResults evalResult = new EvalResults();
+        evalResult.setInspectionNo(inspectionNo);
+        evalResult.setTransformerNo(transformerNo);
+        return evalResult;
+    }
+}
@@ -0,0 +1,70 @@
+package com.devix.backend.service.Impl;
+
+import com.devix.backend.model.ImageDerivative;
+import com.devix.backend.repo.ImageDerivativeRepo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class ImageDerivativeServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    @Test
+    void variantRecordedConcurrentlyIsSkipped() throws Exception {
+        ImageDerivativeRepo imageDerivativeRepo = mock(ImageDerivativeRepo.class);
+        // Another instance inserted the thumbnail row between the lookup and the insert
+        when(imageDerivativeRepo.save(argThat(d -> d != null && ImageDerivativeService.THUMBNAIL.equals(d.getVariant()))))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"));
+        ImageDerivativeService service = new ImageDerivativeService(imageDerivativeRepo, mock(ThreadPoolTaskExecutor.class));
+        ReflectionTestUtils.setField(service, "uploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(service, "thumbnailSize", 4);
+        ReflectionTestUtils.setField(service, "previewSize", 8);
+
+        Path source = uploadDir.resolve("source.png");
+        ImageIO.write(new BufferedImage(16, 16, BufferedImage.TYPE_INT_RGB), "png", source.toFile());
+
+        service.generate(source.toString());
+
+        verify(imageDerivativeRepo, times(2)).save(any(ImageDerivative.class));
+        assertTrue(Files.exists(uploadDir.resolve("derivatives/source_preview.jpg")));
+    }
+
+    @Test
+    void onlyMissingVariantsAreGenerated() throws Exception {
+        ImageDerivativeRepo imageDerivativeRepo = mock(ImageDerivativeRepo.class);
+        Path source = uploadDir.resolve("source.png");
+        ImageIO.write(new BufferedImage(16, 16, BufferedImage.TYPE_INT_RGB), "png", source.toFile());
+        // An earlier run recorded the thumbnail and then failed before the preview was written
+        ImageDerivative thumbnail = new ImageDerivative();
+        thumbnail.setSourceUrl(source.toString());
+        thumbnail.setVariant(ImageDerivativeService.THUMBNAIL);
+        when(imageDerivativeRepo.findAllBySourceUrl(source.toString())).thenReturn(List.of(thumbnail));
+        ImageDerivativeService service = new ImageDerivativeService(imageDerivativeRepo, mock(ThreadPoolTaskExecutor.class));
+        ReflectionTestUtils.setField(service, "uploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(service, "thumbnailSize", 4);
+        ReflectionTestUtils.setField(service, "previewSize", 8);
+
+        service.generate(source.toString());
+
+        verify(imageDerivativeRepo).save(argThat(d -> ImageDerivativeService.PREVIEW.equals(d.getVariant())));
+        verify(imageDerivativeRepo, times(1)).save(any(ImageDerivative.class));
+        assertTrue(Files.exists(uploadDir.resolve("derivatives/source_preview.jpg")));
+        assertFalse(Files.exists(uploadDir.resolve("derivatives/source_thumb.jpg")));
+    }
+}
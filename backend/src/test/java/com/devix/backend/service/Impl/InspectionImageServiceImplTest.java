@@ -0,0 +1,180 @@
+package com.devix.backend.service.Impl;
+
+import com.devix.backend.model.AiResults;
+import com.devix.backend.model.EvalResults;
+import com.devix.backend.model.Inspection;
+import com.devix.backend.model.InspectionImage;
+import com.devix.backend.repo.AiResultsRepo;
+import com.devix.backend.repo.BaseImageRepo;
+import com.devix.backend.repo.EvalResultsRepo;
+import com.devix.backend.repo.InspectionImageRepo;
+import com.devix.backend.repo.InspectionRepo;
+import com.devix.backend.service.AiService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class InspectionImageServiceImplTest {
+
+    private static final String INSPECTION_NO = "INS-1";
+
+    @Autowired private InspectionRepo inspectionRepo;
+    @Autowired private InspectionImageRepo inspectionImageRepo;
+    @Autowired private BaseImageRepo baseImageRepo;
+    @Autowired private AiResultsRepo aiResultsRepo;
+    @Autowired private EvalResultsRepo evalResultsRepo;
+    @Autowired private EntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private InspectionImageServiceImpl service;
+    private LocalImageService localImageService;
+    private AiService aiService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        localImageService = mock(LocalImageService.class);
+        when(localImageService.imageUrl(any(), any())).thenAnswer(invocation -> invocation.getArgument(1));
+        aiService = mock(AiService.class);
+        service = new InspectionImageServiceImpl(inspectionImageRepo, baseImageRepo, localImageService, inspectionRepo,
+                aiResultsRepo, evalResultsRepo, aiService, mock(ImageDerivativeService.class));
+
+        Inspection inspection = EntityFixtures.inspection(INSPECTION_NO, "TX-1");
+        inspection.setInspectionDate("2025-01-01");
+        inspection.setInspectionTime("10:00");
+        inspectionRepo.save(inspection);
+
+        InspectionImage image = EntityFixtures.thermalImage(INSPECTION_NO, "TX-1", "thermal.jpg");
+        image.setThermalImageCondition("Sunny");
+        image.setUploadedDate("2025-01-01");
+        image.setUploadedTime("10:05");
+        inspectionImageRepo.save(image);
+
+        baseImageRepo.save(EntityFixtures.sunnyBaseline("TX-1", "sunny.jpg"));
+
+        for (int i = 0; i < 3; i++) {
+            AiResults aiResult = EntityFixtures.aiResult(INSPECTION_NO, "TX-1");
+            aiResult.setFaultType("Loose Joint");
+            aiResult.setBbox(List.of(i, i, 10, 10));
+            aiResultsRepo.save(aiResult);
+
+            EvalResults evalResult = EntityFixtures.evalResult(INSPECTION_NO, "TX-1");
+            evalResult.setFaultType("Loose Joint");
+            evalResult.setEvaluatedDate("2025-01-02 09:00");
+            evalResultsRepo.save(evalResult);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void comparisonImageFetchesEachRowOnce() throws Exception {
+        Map<String, Object> comparison = service.getComparisonImage(INSPECTION_NO);
+
+        // Inspection with image and baseline, then the AI and the eval results
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(1 + 3 + 3, fetchedRows());
+        assertEquals(3, ((List<?>) comparison.get("aiResults")).size());
+    }
+
+    @Test
+    void lastUpdatedDateIsOneRow() throws Exception {
+        Map<String, String> lastUpdated = service.getLastUpdatedDate(INSPECTION_NO);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, fetchedRows());
+        assertEquals("2025-01-02", lastUpdated.get("lastUpdatedDate"));
+        assertEquals("09:00", lastUpdated.get("lastUpdatedTime"));
+    }
+
+    @Test
+    void reportFetchesEachRowOnce() throws Exception {
+        service.getReport(INSPECTION_NO);
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(1 + 3 + 3, fetchedRows());
+    }
+
+    @Test
+    void evaluationIsSavedWhenThresholdUpdateFails() throws Exception {
+        when(aiService.updateThresholds(any())).thenThrow(new RuntimeException("Failed to update thresholds: AI server unavailable"));
+
+        service.createEvalResults(List.of(Map.of("inspectionNo", INSPECTION_NO, "transformerNo", "TX-1", "faultType", "Hotspot")));
+
+        List<EvalResults> saved = evalResultsRepo.findAllByInspectionNo(INSPECTION_NO);
+        assertEquals(1, saved.size());
+        assertEquals("Hotspot", saved.get(0).getFaultType());
+        verify(aiService).updateThresholds(any());
+    }
+
+    @Test
+    void thresholdFeedbackUsesTheLatestOfDuplicateImages() throws Exception {
+        // Rows an older release left behind when an image was uploaded twice
+        inspectionImageRepo.save(EntityFixtures.thermalImage(INSPECTION_NO, "TX-1", "thermal-latest.jpg"));
+
+        service.createEvalResults(List.of(Map.of("inspectionNo", INSPECTION_NO, "transformerNo", "TX-1", "faultType", "Hotspot")));
+
+        verify(aiService).updateThresholds(argThat(request -> "thermal-latest.jpg".equals(request.get("imageUrl"))));
+    }
+
+    @Test
+    void reuploadReplacesTheImageAndReleasesThePreviousOne() throws Exception {
+        when(localImageService.storeImage(any(), any())).thenReturn("thermal-2.jpg");
+
+        service.addThermalImage(INSPECTION_NO, "TX-1", "Cloudy", null, "digest", "inspector", "2025-01-03", "08:00");
+        entityManager.flush();
+        entityManager.clear();
+
+        InspectionImage image = inspectionImageRepo.findByInspectionNo(INSPECTION_NO);
+        assertEquals("thermal-2.jpg", image.getThermalImageUrl());
+        assertEquals("Cloudy", image.getThermalImageCondition());
+        verify(localImageService).releaseImagesAfterCommit(List.of("thermal.jpg"));
+        verify(aiService).enqueueAnalysis(INSPECTION_NO);
+    }
+
+    @Test
+    void failedSaveReleasesTheNewImage() {
+        when(localImageService.storeImage(any(), any())).thenReturn("thermal-2.jpg");
+        InspectionImageRepo failingImageRepo = mock(InspectionImageRepo.class);
+        when(failingImageRepo.save(any())).thenThrow(new DataIntegrityViolationException("insert failed"));
+        service = new InspectionImageServiceImpl(failingImageRepo, baseImageRepo, localImageService, inspectionRepo,
+                aiResultsRepo, evalResultsRepo, aiService, mock(ImageDerivativeService.class));
+
+        assertThrows(Exception.class, () -> service.addThermalImage(INSPECTION_NO, "TX-1", "Cloudy", null, "digest",
+                "inspector", "2025-01-03", "08:00"));
+
+        verify(localImageService).releaseImage("thermal-2.jpg");
+        verify(localImageService, never()).releaseImagesAfterCommit(any());
+    }
+
+    private long fetchedRows() {
+        return Arrays.stream(statistics.getQueries())
+                .mapToLong(query -> statistics.getQueryStatistics(query).getExecutionRowCount())
+                .sum();
+    }
+}
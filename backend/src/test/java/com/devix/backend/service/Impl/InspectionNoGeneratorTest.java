@@ -0,0 +1,47 @@
+package com.devix.backend.service.Impl;
+
+import com.devix.backend.repo.InspectionRepo;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class InspectionNoGeneratorTest {
+
+    private static final int BLOCK_SIZE = 50;
+
+    @Test
+    void parallelCreatesGetUniqueNumbersFromFewBlocks() throws Exception {
+        // Behaves like inspection_no_seq with INCREMENT BY 50
+        AtomicLong sequence = new AtomicLong(1);
+        InspectionRepo inspectionRepo = mock(InspectionRepo.class);
+        when(inspectionRepo.nextInspectionNoBlock()).thenAnswer(invocation -> sequence.getAndAdd(BLOCK_SIZE));
+        InspectionNoGenerator generator = new InspectionNoGenerator(inspectionRepo, BLOCK_SIZE);
+
+        int threads = 8;
+        int perThread = 500;
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    numbers.add(generator.nextInspectionNo());
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(threads * perThread, numbers.size());
+        assertTrue(numbers.contains("00001"));
+        verify(inspectionRepo, times(threads * perThread / BLOCK_SIZE)).nextInspectionNoBlock();
+    }
+}
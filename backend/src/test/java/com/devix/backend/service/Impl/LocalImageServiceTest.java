@@ -0,0 +1,192 @@
+package com.devix.backend.service.Impl;
+
+import com.devix.backend.model.StoredImage;
+import com.devix.backend.repo.StoredImageRepo;
+import com.devix.backend.service.Bulkhead;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class LocalImageServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private StoredImageRepo storedImageRepo;
+    private ImageDerivativeService imageDerivativeService;
+    private ImageCacheService imageCacheService;
+    private SimpleMeterRegistry meterRegistry;
+    private LocalImageService service;
+    private Path file;
+    private String path;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        storedImageRepo = mock(StoredImageRepo.class);
+        imageDerivativeService = mock(ImageDerivativeService.class);
+        imageCacheService = mock(ImageCacheService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new LocalImageService(storedImageRepo, imageDerivativeService, imageCacheService,
+                mock(ThreadPoolTaskExecutor.class), new Bulkhead("image-store", 1, Duration.ZERO, meterRegistry),
+                meterRegistry);
+
+        file = Files.write(uploadDir.resolve("a".repeat(64) + ".jpg"), new byte[10]);
+        path = file.toString().replace("\\", "/");
+        when(storedImageRepo.decrementRefCount(path)).thenReturn(1);
+        when(storedImageRepo.findByPath(path)).thenReturn(new StoredImage("a".repeat(64), path, 10L, 0));
+    }
+
+    @Test
+    void releasingTheLastReferenceDeletesFileAndRow() {
+        when(storedImageRepo.deleteUnreferencedByPath(path)).thenReturn(1);
+
+        service.releaseImage(path);
+
+        assertFalse(Files.exists(file));
+        assertEquals(0, uploadDirEntries());
+        verify(imageDerivativeService).deleteDerivatives(path);
+    }
+
+    @Test
+    void attachDuringReleaseKeepsTheFile() {
+        // The image was attached again between the decrement and the claim
+        when(storedImageRepo.deleteUnreferencedByPath(path)).thenReturn(0);
+
+        service.releaseImage(path);
+
+        assertTrue(Files.exists(file));
+        assertEquals(1, uploadDirEntries());
+        verify(imageDerivativeService, never()).deleteDerivatives(any());
+    }
+
+    @Test
+    void releaseKeepsImagesThatAreStillReferenced() {
+        when(storedImageRepo.findByPath(path)).thenReturn(new StoredImage("a".repeat(64), path, 10L, 1));
+
+        service.releaseImage(path);
+
+        assertTrue(Files.exists(file));
+        verify(storedImageRepo, never()).deleteUnreferencedByPath(any());
+    }
+
+    @Test
+    void ifNoneMatchComparesWeaklyAndAcceptsListsAndWildcard() {
+        String eTag = "\"" + "a".repeat(64) + "\"";
+
+        assertTrue(LocalImageService.ifNoneMatchHits(eTag, eTag));
+        assertTrue(LocalImageService.ifNoneMatchHits("W/" + eTag, eTag));
+        assertTrue(LocalImageService.ifNoneMatchHits("\"other\", W/" + eTag, eTag));
+        assertTrue(LocalImageService.ifNoneMatchHits("*", eTag));
+        assertFalse(LocalImageService.ifNoneMatchHits("\"other\", \"a,b\"", eTag));
+        assertFalse(LocalImageService.ifNoneMatchHits("a".repeat(64), eTag));
+        assertFalse(LocalImageService.ifNoneMatchHits(null, eTag));
+
+        ResponseEntity<?> response = service.streamImage(path, null, "\"stale\", W/" + eTag);
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+    }
+
+    @Test
+    void rangeReturnsTheRequestedBytes() throws IOException {
+        writeSequence(100);
+
+        ResponseEntity<StreamingResponseBody> response = service.streamImage(path, "bytes=10-19", null);
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals("bytes 10-19/100", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals(10, response.getHeaders().getContentLength());
+        assertArrayEquals(sequence(10, 10), body(response));
+    }
+
+    @Test
+    void suffixRangeReturnsTheLastBytes() throws IOException {
+        writeSequence(100);
+
+        ResponseEntity<StreamingResponseBody> response = service.streamImage(path, "bytes=-5", null);
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals("bytes 95-99/100", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertArrayEquals(sequence(95, 5), body(response));
+    }
+
+    @Test
+    void openEndedRangeRunsToTheEnd() throws IOException {
+        writeSequence(100);
+
+        ResponseEntity<StreamingResponseBody> response = service.streamImage(path, "bytes=90-", null);
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals("bytes 90-99/100", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertArrayEquals(sequence(90, 10), body(response));
+    }
+
+    @Test
+    void unsatisfiableRangeIs416() throws IOException {
+        writeSequence(100);
+
+        for (String range : List.of("bytes=1000-", "bytes=100-200", "bytes=-0")) {
+            ResponseEntity<StreamingResponseBody> response = service.streamImage(path, range, null);
+
+            assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatusCode(), range);
+            assertEquals("bytes */100", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE), range);
+        }
+    }
+
+    @Test
+    void streamingRecordsReadMetricsFromDiskAndCache() throws IOException {
+        writeSequence(100);
+        body(service.streamImage(path, "bytes=0-39", null));
+        when(imageCacheService.get(any(), eq(100L))).thenReturn(ByteBuffer.wrap(sequence(0, 100)));
+        body(service.streamImage(path, null, null));
+
+        assertEquals(2, meterRegistry.get("image.io").tag("operation", "read").timer().count());
+        assertEquals(140.0, meterRegistry.get("image.io.bytes").tag("operation", "read").summary().totalAmount());
+    }
+
+    private void writeSequence(int length) throws IOException {
+        Files.write(file, sequence(0, length));
+    }
+
+    private static byte[] sequence(int from, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (from + i);
+        }
+        return bytes;
+    }
+
+    private static byte[] body(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toByteArray();
+    }
+
+    private long uploadDirEntries() {
+        try (var entries = Files.list(uploadDir)) {
+            return entries.count();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
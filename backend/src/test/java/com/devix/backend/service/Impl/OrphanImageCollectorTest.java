@@ -0,0 +1,93 @@
+package com.devix.backend.service.Impl;
+
+import com.devix.backend.model.StoredImage;
+import com.devix.backend.repo.BaseImageRepo;
+import com.devix.backend.repo.InspectionImageRepo;
+import com.devix.backend.repo.StoredImageRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class OrphanImageCollectorTest {
+
+    @Autowired private InspectionImageRepo inspectionImageRepo;
+    @Autowired private BaseImageRepo baseImageRepo;
+    @Autowired private StoredImageRepo storedImageRepo;
+
+    @TempDir
+    Path uploadDir;
+
+    private OrphanImageCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        collector = new OrphanImageCollector(inspectionImageRepo, baseImageRepo, storedImageRepo,
+                mock(ImageDerivativeService.class), mock(ImageCacheService.class), uploadDir.toString(), true, 24, 2);
+    }
+
+    @Test
+    void deletesOnlyOldUnreferencedFiles() throws IOException {
+        Path thermal = oldFile("thermal.jpg", 10);
+        inspectionImageRepo.save(EntityFixtures.thermalImage(null, null, path(thermal)));
+
+        Path sunny = oldFile("sunny.jpg", 10);
+        baseImageRepo.save(EntityFixtures.sunnyBaseline("TX-1", path(sunny)));
+
+        Path attached = oldFile("attached.jpg", 10);
+        storedImageRepo.save(new StoredImage("a".repeat(64), path(attached), 10L, 1));
+
+        Path released = oldFile("released.jpg", 100);
+        storedImageRepo.save(new StoredImage("b".repeat(64), path(released), 100L, 0));
+
+        Path legacy = oldFile("legacy.jpg", 1000);
+        Path fresh = Files.write(uploadDir.resolve("fresh.jpg"), new byte[10]);
+        Files.createDirectory(uploadDir.resolve("derivatives"));
+
+        // Batches of two: seven entries take four runs, the last one ends the pass
+        long reclaimed = 0;
+        for (int i = 0; i < 4; i++) {
+            reclaimed += collector.collectBatch();
+        }
+
+        assertEquals(1100, reclaimed);
+        assertFalse(Files.exists(released));
+        assertFalse(Files.exists(legacy));
+        assertNull(storedImageRepo.findByPath(path(released)));
+        assertTrue(Files.exists(thermal));
+        assertTrue(Files.exists(sunny));
+        assertTrue(Files.exists(attached));
+        assertTrue(Files.exists(fresh));
+        assertNotNull(storedImageRepo.findByPath(path(attached)));
+        assertEquals(1L, collector.getStats().get("completedPasses"));
+        assertEquals(1100L, collector.getStats().get("lastPassBytesReclaimed"));
+    }
+
+    private Path oldFile(String name, int size) throws IOException {
+        Path file = Files.write(uploadDir.resolve(name), new byte[size]);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+        return file;
+    }
+
+    private static String path(Path file) {
+        return file.toString().replace("\\", "/");
+    }
+}
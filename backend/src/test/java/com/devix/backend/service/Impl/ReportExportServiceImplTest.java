@@ -0,0 +1,90 @@
+package com.devix.backend.service.Impl;
+
+import com.devix.backend.dto.ReportExportRequestDto;
+import com.devix.backend.repo.AiResultsRepo;
+import com.devix.backend.repo.BaseImageRepo;
+import com.devix.backend.repo.EvalResultsRepo;
+import com.devix.backend.repo.InspectionImageRepo;
+import com.devix.backend.repo.InspectionRepo;
+import com.devix.backend.service.ReportExportService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ReportExportServiceImplTest {
+
+    private static final int INSPECTIONS = 5;
+
+    @Autowired private InspectionRepo inspectionRepo;
+    @Autowired private InspectionImageRepo inspectionImageRepo;
+    @Autowired private BaseImageRepo baseImageRepo;
+    @Autowired private AiResultsRepo aiResultsRepo;
+    @Autowired private EvalResultsRepo evalResultsRepo;
+    @Autowired private EntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private ReportExportServiceImpl service;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        service = new ReportExportServiceImpl(inspectionRepo, aiResultsRepo, evalResultsRepo, entityManager, 2);
+
+        baseImageRepo.save(EntityFixtures.sunnyBaseline("TX-1", "sunny.jpg"));
+        for (int i = 0; i < INSPECTIONS; i++) {
+            String inspectionNo = "INS-" + i;
+            inspectionRepo.save(EntityFixtures.inspection(inspectionNo, "TX-1"));
+            inspectionImageRepo.save(EntityFixtures.thermalImage(inspectionNo, "TX-1", "thermal-" + i + ".jpg"));
+            for (int j = 0; j < 3; j++) {
+                aiResultsRepo.save(EntityFixtures.aiResult(inspectionNo, "TX-1"));
+            }
+            for (int j = 0; j < 2; j++) {
+                evalResultsRepo.save(EntityFixtures.evalResult(inspectionNo, "TX-1"));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void resultsAreLoadedOncePerChunk() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.exportReports(new ReportExportRequestDto(), ReportExportService.CSV, false, out);
+
+        // The inspection cursor, then one AI and one eval query for each of the three chunks
+        assertEquals(7, statistics.getPrepareStatementCount());
+        // Each result is fetched once, not once per row of the other table (Hibernate does not count streamed rows)
+        assertEquals(INSPECTIONS * (3 + 2), fetchedRows());
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(1 + INSPECTIONS * 5, lines.size());
+        assertEquals(List.of("evaluation", "evaluation", "model", "model", "model"),
+                lines.subList(1, 6).stream().map(line -> line.split(",")[6]).toList());
+        assertEquals(INSPECTIONS, lines.stream().skip(1).map(line -> line.split(",")[0]).distinct().count());
+    }
+
+    private long fetchedRows() {
+        return Arrays.stream(statistics.getQueries())
+                .mapToLong(query -> statistics.getQueryStatistics(query).getExecutionRowCount())
+                .sum();
+    }
+}
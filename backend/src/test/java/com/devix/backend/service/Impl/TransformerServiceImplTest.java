@@ -0,0 +1,104 @@
+package com.devix.backend.service.Impl;
+
+import com.devix.backend.model.Transformer;
+import com.devix.backend.repo.AiResultsRepo;
+import com.devix.backend.repo.BaseImageRepo;
+import com.devix.backend.repo.EvalResultsRepo;
+import com.devix.backend.repo.InspectionImageRepo;
+import com.devix.backend.repo.InspectionRepo;
+import com.devix.backend.repo.TransformerRepo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class TransformerServiceImplTest {
+
+    private static final String TRANSFORMER_NO = "TX-1";
+    private static final int INSPECTIONS = 20;
+
+    @Autowired private TransformerRepo transformerRepo;
+    @Autowired private InspectionRepo inspectionRepo;
+    @Autowired private InspectionImageRepo inspectionImageRepo;
+    @Autowired private BaseImageRepo baseImageRepo;
+    @Autowired private AiResultsRepo aiResultsRepo;
+    @Autowired private EvalResultsRepo evalResultsRepo;
+    @Autowired private EntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private TransformerServiceImpl service;
+    private final List<String> releasedPaths = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        LocalImageService localImageService = mock(LocalImageService.class);
+        doAnswer(invocation -> releasedPaths.addAll(invocation.<Collection<String>>getArgument(0)))
+                .when(localImageService).releaseImagesAfterCommit(any());
+        service = new TransformerServiceImpl(transformerRepo, inspectionRepo, baseImageRepo, inspectionImageRepo,
+                aiResultsRepo, localImageService, evalResultsRepo, mock(ReferenceDataCache.class), 500, 500);
+
+        Transformer transformer = new Transformer();
+        transformer.setTransformerNo(TRANSFORMER_NO);
+        transformerRepo.save(transformer);
+
+        baseImageRepo.save(EntityFixtures.sunnyBaseline(TRANSFORMER_NO, "sunny.jpg"));
+
+        for (int i = 0; i < INSPECTIONS; i++) {
+            String inspectionNo = "INS-" + i;
+            inspectionRepo.save(EntityFixtures.inspection(inspectionNo, TRANSFORMER_NO));
+
+            // Child rows keyed only by inspection number must go too
+            inspectionImageRepo.save(EntityFixtures.thermalImage(inspectionNo, null, "thermal-" + i + ".jpg"));
+            aiResultsRepo.save(EntityFixtures.aiResult(inspectionNo, null));
+            evalResultsRepo.save(EntityFixtures.evalResult(inspectionNo, null));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void deleteRunsAFixedNumberOfStatements() throws Exception {
+        service.deleteTransformer(TRANSFORMER_NO);
+
+        // Existence check, two path lookups and one DELETE per table, regardless of history size
+        assertEquals(9, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityDeleteCount());
+    }
+
+    @Test
+    void deleteRemovesAllDependentRowsAndQueuesImages() throws Exception {
+        service.deleteTransformer(TRANSFORMER_NO);
+        entityManager.clear();
+
+        assertNull(transformerRepo.findByTransformerNo(TRANSFORMER_NO));
+        assertNull(baseImageRepo.findByTransformerNo(TRANSFORMER_NO));
+        assertEquals(0, inspectionRepo.count());
+        assertEquals(0, inspectionImageRepo.count());
+        assertEquals(0, aiResultsRepo.count());
+        assertEquals(0, evalResultsRepo.count());
+        assertEquals(INSPECTIONS + 3, releasedPaths.size());
+        assertTrue(releasedPaths.containsAll(List.of("sunny.jpg", "thermal-0.jpg")));
+    }
+}
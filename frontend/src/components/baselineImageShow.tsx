@@ -27,17 +27,6 @@ const BaselineImageShow: React.FC<SideBySideImagesProps> = ({
   //     : url;
   // };
 
-  function cleanBase64(base64Str: string | null | undefined): string | null {
-    if (!base64Str) return null;
-    // Remove quotes, spaces, newlines, non-base64 characters
-    const cleaned = base64Str
-      .replace(/^["']|["']$/g, "")
-      .replace(/[\r\n\s]/g, "")
-      .replace(/[^A-Za-z0-9+/=]/g, ""); // remove anything not valid Base64
-    return cleaned || null;
-  }
-
-
   const [baselineImages, setBaselineImages] = useState({
     sunny: null as string | null,
     cloudy: null as string | null,
@@ -102,7 +91,7 @@ const BaselineImageShow: React.FC<SideBySideImagesProps> = ({
               <Card sx={{ borderRadius: 2, boxShadow: 4 }}>
                 <CardMedia
                   component="img"
-                  src={baselineImages.sunny ? `data:image/png;base64,${cleanBase64(baselineImages.sunny)}` : ""}
+                  src={baselineImages.sunny ? `${baselineImages.sunny}?size=preview` : ""}
                   alt={leftTitle}
                   sx={{ objectFit: "contain", width: "100%", maxHeight: 400 }}
                 />
@@ -116,7 +105,7 @@ const BaselineImageShow: React.FC<SideBySideImagesProps> = ({
               <Card sx={{ borderRadius: 2, boxShadow: 4 }}>
                 <CardMedia
                   component="img"
-                  src={baselineImages.cloudy ? `data:image/png;base64,${cleanBase64(baselineImages.cloudy)}` : ""}
+                  src={baselineImages.cloudy ? `${baselineImages.cloudy}?size=preview` : ""}
                   alt={midTitle}
                   sx={{ objectFit: "contain", width: "100%", maxHeight: 400 }}
                 />
@@ -130,7 +119,7 @@ const BaselineImageShow: React.FC<SideBySideImagesProps> = ({
               <Card sx={{ borderRadius: 2, boxShadow: 4 }}>
                 <CardMedia
                   component="img"
-                  src={baselineImages.rainy ? `data:image/png;base64,${cleanBase64(baselineImages.rainy)}` : ""}
+                  src={baselineImages.rainy ? `${baselineImages.rainy}?size=preview` : ""}
                   alt={rightTitle}
                   sx={{ objectFit: "contain", width: "100%", maxHeight: 400 }}
                 />
@@ -82,7 +82,8 @@ export default function Comparison({ inspectionNo, transformerNo, onRefresh }: {
     );
   }
 
-  if (statusData?.baselineImageStatus == "exist" && statusData?.inspectionStatus == "pending") {
+  // ai_unavailable: the AI server was down, analysis is retried by the backend
+  if (statusData?.baselineImageStatus == "exist" && (statusData?.inspectionStatus == "pending" || statusData?.inspectionStatus == "ai_unavailable")) {
     //show analysisi bars
     return <ThermalImageCard
       inspectionNo={inspectionNo}
@@ -1,6 +1,6 @@
 import { Chip } from '@mui/material';
 
-// type StatusType = "no_image" | "in_progress" | "pending";
+// type StatusType = "no_image" | "in_progress" | "pending" | "ai_unavailable";
 
 interface StatusBadgeProps {
   status: string;
@@ -18,6 +18,10 @@ const statusConfig: Record<string, { text: string; color: string }> = {
   pending: {
     text: "Pending",
     color: "#f44336"
+  },
+  ai_unavailable: {
+    text: "AI Unavailable",
+    color: "#ff9800"
   }
 };
 
@@ -68,14 +68,6 @@ interface InspectionImages {
 }
 
 /* ----------------- helpers ----------------- */
-const cleanBase64 = (b?: string | null) =>
-  b
-    ? (b as string)
-        .replace(/^["']|["']$/g, "")
-        .replace(/[\r\n\s]/g, "")
-        .replace(/[^A-Za-z0-9+/=]/g, "")
-    : null;
-
 const toPct = (v: string | number | undefined, decimals = 0) => {
   if (v === undefined || v === null) return null;
   const n = Number(v);
@@ -535,8 +527,8 @@ const ThermalImageComparison = ({ inspectionNo, transformerNo }: { inspectionNo:
             />
             <img
               src={
-                inspectionImages?.baseImageUrl
-                  ? `data:image/png;base64,${cleanBase64(inspectionImages.baseImageUrl)}`
+                inspectionImages?.baseImageUrl && inspectionImages.baseImageUrl !== "exist"
+                  ? inspectionImages.baseImageUrl
                   : ""
               }
               alt="Baseline"
@@ -640,9 +632,7 @@ const ThermalImageComparison = ({ inspectionNo, transformerNo }: { inspectionNo:
                   updateDisplaySize();
                 }}
                 src={
-                  inspectionImages?.thermal
-                    ? `data:image/png;base64,${cleanBase64(inspectionImages.thermal)}`
-                    : ""
+                  inspectionImages?.thermal ?? ""
                 }
                 alt="Thermal"
                 style={{